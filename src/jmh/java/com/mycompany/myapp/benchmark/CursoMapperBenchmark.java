@@ -0,0 +1,62 @@
+package com.mycompany.myapp.benchmark;
+
+import com.mycompany.myapp.domain.Area;
+import com.mycompany.myapp.domain.Curso;
+import com.mycompany.myapp.domain.enumeration.StatusCurso;
+import com.mycompany.myapp.service.dto.CursoDTO;
+import com.mycompany.myapp.service.mapper.CursoMapper;
+import com.mycompany.myapp.service.mapper.CursoMapperImpl;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the MapStruct {@link CursoMapper}, between the entity and its DTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CursoMapperBenchmark {
+
+    private CursoMapper cursoMapper;
+
+    private Curso curso;
+
+    private CursoDTO cursoDTO;
+
+    @Setup
+    public void setup() {
+        cursoMapper = new CursoMapperImpl();
+        curso =
+            new Curso()
+                .id(1L)
+                .nome("Curso")
+                .descricao("Descrição do curso")
+                .status(StatusCurso.ATIVO)
+                .dataCriacao(Instant.now())
+                .area(new Area().id(1L).nome("Área"));
+        cursoDTO = cursoMapper.toDto(curso);
+    }
+
+    @Benchmark
+    public CursoDTO toDto() {
+        return cursoMapper.toDto(curso);
+    }
+
+    @Benchmark
+    public Curso toEntity() {
+        return cursoMapper.toEntity(cursoDTO);
+    }
+}
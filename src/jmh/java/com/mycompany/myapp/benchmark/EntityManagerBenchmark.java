@@ -0,0 +1,74 @@
+package com.mycompany.myapp.benchmark;
+
+import com.mycompany.myapp.domain.Curso;
+import com.mycompany.myapp.repository.AreaSqlHelper;
+import com.mycompany.myapp.repository.CursoSqlHelper;
+import com.mycompany.myapp.repository.EntityManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.sql.Column;
+import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
+import org.springframework.data.relational.core.sql.Table;
+
+/**
+ * Benchmarks the creation of the paged curso select by {@link EntityManager}, rendered from the select AST on every call
+ * and rendered once per query shape.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityManagerBenchmark {
+
+    private static final Table entityTable = Table.aliased("curso", EntityManager.ENTITY_ALIAS);
+    private static final Table areaTable = Table.aliased("area", "area");
+
+    private EntityManager entityManager;
+
+    private Pageable pageable;
+
+    @Setup
+    public void setup() {
+        entityManager = new R2dbcFixture("entity-manager-benchmark").entityManager;
+        pageable = PageRequest.of(2, 20, Sort.by("nome", "id"));
+    }
+
+    @Benchmark
+    public String createSelectFromAst() {
+        return entityManager.createSelect(createSelectFrom(), Curso.class, pageable, null);
+    }
+
+    @Benchmark
+    public String createSelectCached() {
+        return entityManager.createSelect("join", EntityManagerBenchmark::createSelectFrom, Curso.class, pageable, null);
+    }
+
+    private static SelectFromAndJoinCondition createSelectFrom() {
+        List<Expression> columns = CursoSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        columns.addAll(AreaSqlHelper.getColumns(areaTable, "area"));
+        return Select
+            .builder()
+            .select(columns)
+            .from(entityTable)
+            .leftOuterJoin(areaTable)
+            .on(Column.create("area_id", entityTable))
+            .equals(Column.create("id", areaTable));
+    }
+}
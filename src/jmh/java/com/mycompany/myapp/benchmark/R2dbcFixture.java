@@ -0,0 +1,89 @@
+package com.mycompany.myapp.benchmark;
+
+import com.mycompany.myapp.config.DatabaseConfiguration;
+import com.mycompany.myapp.repository.EntityManager;
+import com.mycompany.myapp.repository.rowmapper.ColumnConverter;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Row;
+import java.util.List;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.core.DefaultReactiveDataAccessStrategy;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.data.r2dbc.query.UpdateMapper;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * The R2DBC infrastructure of the application, wired as in {@link DatabaseConfiguration} on top of an in-memory H2 database,
+ * so the benchmarks run without any database server.
+ */
+final class R2dbcFixture {
+
+    static final String CURSO_TABLE =
+        "CREATE TABLE IF NOT EXISTS curso (" +
+        "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+        "nome VARCHAR(255) NOT NULL, " +
+        "descricao VARCHAR(255), " +
+        "status VARCHAR(255) NOT NULL, " +
+        "data_criacao TIMESTAMP NOT NULL, " +
+        "data_inatividade TIMESTAMP, " +
+        "data_atualizacao TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL, " +
+        "versao BIGINT DEFAULT 0 NOT NULL, " +
+        "area_id BIGINT)";
+
+    static final String CURSO_INSERT =
+        "INSERT INTO curso (nome, descricao, status, data_criacao, data_inatividade) " +
+        "VALUES (:nome, :descricao, 'ATIVO', CURRENT_TIMESTAMP, NULL)";
+
+    static final String CURSO_SELECT =
+        "SELECT e.id AS e_id, e.nome AS e_nome, e.descricao AS e_descricao, e.status AS e_status, " +
+        "e.data_criacao AS e_data_criacao, e.data_inatividade AS e_data_inatividade, e.data_atualizacao AS e_data_atualizacao, " +
+        "e.versao AS e_versao, e.area_id AS e_area_id FROM curso e";
+
+    final ConnectionFactory connectionFactory;
+    final DatabaseClient databaseClient;
+    final R2dbcDialect dialect;
+    final R2dbcCustomConversions conversions;
+    final MappingR2dbcConverter converter;
+    final R2dbcEntityTemplate template;
+    final EntityManager entityManager;
+    final ColumnConverter columnConverter;
+
+    R2dbcFixture(String databaseName) {
+        DatabaseConfiguration databaseConfiguration = new DatabaseConfiguration(new StandardEnvironment());
+        connectionFactory = H2ConnectionFactory.inMemory(databaseName);
+        databaseClient = DatabaseClient.create(connectionFactory);
+        dialect = H2Dialect.INSTANCE;
+        conversions = databaseConfiguration.r2dbcCustomConversions(dialect);
+        R2dbcMappingContext mappingContext = new R2dbcMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        converter = new MappingR2dbcConverter(mappingContext, conversions);
+        template = new R2dbcEntityTemplate(databaseClient, new DefaultReactiveDataAccessStrategy(dialect, converter));
+        UpdateMapper updateMapper = databaseConfiguration.updateMapper(dialect, converter);
+        entityManager = new EntityManager(databaseConfiguration.sqlRenderer(dialect), updateMapper, template, dialect);
+        columnConverter = new ColumnConverter(conversions, converter);
+    }
+
+    /**
+     * Creates the curso table with the given number of rows, and reads them back with the columns aliased as in the repositories.
+     * The H2 rows hold their values in memory, so they can still be read after the query completes.
+     */
+    List<Row> createCursoRows(int count) {
+        databaseClient.sql(CURSO_TABLE).then().block();
+        databaseClient.sql("DELETE FROM curso").then().block();
+        for (int i = 0; i < count; i++) {
+            databaseClient
+                .sql(CURSO_INSERT)
+                .bind("nome", "Curso " + i)
+                .bind("descricao", "Descrição do curso " + i)
+                .then()
+                .block();
+        }
+        return databaseClient.sql(CURSO_SELECT).map((row, metadata) -> row).all().collectList().block();
+    }
+}
@@ -0,0 +1,89 @@
+package com.mycompany.myapp.benchmark;
+
+import com.mycompany.myapp.domain.Curso;
+import com.mycompany.myapp.domain.enumeration.StatusCurso;
+import com.mycompany.myapp.repository.rowmapper.ColumnConverter;
+import com.mycompany.myapp.repository.rowmapper.CursoRowMapper;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the decoding of the curso rows, by {@link CursoRowMapper} and {@link ColumnConverter}, per page of rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    @Param({ "20" })
+    private int rowCount;
+
+    private List<Row> rows;
+
+    private ColumnConverter columnConverter;
+
+    private CursoRowMapper cursoRowMapper;
+
+    @Setup
+    public void setup() {
+        R2dbcFixture fixture = new R2dbcFixture("row-mapper-benchmark");
+        rows = fixture.createCursoRows(rowCount);
+        columnConverter = fixture.columnConverter;
+        cursoRowMapper = new CursoRowMapper(columnConverter);
+    }
+
+    @Benchmark
+    public void cursoRowMapperApply(Blackhole blackhole) {
+        for (Row row : rows) {
+            blackhole.consume(cursoRowMapper.apply(row, "e"));
+        }
+    }
+
+    @Benchmark
+    public void cursoRowMapperCompiled(Blackhole blackhole) {
+        BiFunction<Row, RowMetadata, Curso> mapper = cursoRowMapper.compile("e");
+        for (Row row : rows) {
+            blackhole.consume(mapper.apply(row, row.getMetadata()));
+        }
+    }
+
+    @Benchmark
+    public void columnConverterFromRowString(Blackhole blackhole) {
+        for (Row row : rows) {
+            blackhole.consume(columnConverter.fromRow(row, "e_nome", String.class));
+        }
+    }
+
+    @Benchmark
+    public void columnConverterFromRowInstant(Blackhole blackhole) {
+        for (Row row : rows) {
+            blackhole.consume(columnConverter.fromRow(row, "e_data_criacao", Instant.class));
+        }
+    }
+
+    @Benchmark
+    public void columnConverterFromRowEnum(Blackhole blackhole) {
+        for (Row row : rows) {
+            blackhole.consume(columnConverter.fromRow(row, "e_status", StatusCurso.class));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.mycompany.myapp.benchmark;
+
+import com.mycompany.myapp.web.filter.SpaWebFilter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Benchmarks {@link SpaWebFilter}, which runs on every request, for an API path and for a client route forwarded to
+ * {@code index.html}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpaWebFilterBenchmark {
+
+    @Param({ "/api/cursos", "/curso/1/view" })
+    private String path;
+
+    private final SpaWebFilter spaWebFilter = new SpaWebFilter();
+
+    private final WebFilterChain chain = exchange -> Mono.empty();
+
+    private ServerWebExchange exchange;
+
+    @Setup
+    public void setup() {
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    }
+
+    @Benchmark
+    public Void filter() {
+        return spaWebFilter.filter(exchange, chain).block();
+    }
+}
@@ -1,5 +1,6 @@
 package com.mycompany.myapp.config;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -10,7 +11,416 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Security security = new Security();
+
+    private final Bulk bulk = new Bulk();
+
+    private final AreaCache areaCache = new AreaCache();
+
+    private final BlockHound blockHound = new BlockHound();
+
+    private final Mail mail = new Mail();
+
+    private final NotActivatedUsers notActivatedUsers = new NotActivatedUsers();
+
     // jhipster-needle-application-properties-property
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public AreaCache getAreaCache() {
+        return areaCache;
+    }
+
+    public BlockHound getBlockHound() {
+        return blockHound;
+    }
+
+    public Mail getMail() {
+        return mail;
+    }
+
+    public NotActivatedUsers getNotActivatedUsers() {
+        return notActivatedUsers;
+    }
+
     // jhipster-needle-application-properties-property-getter
+
+    public static class Security {
+
+        private final TokenCache tokenCache = new TokenCache();
+
+        private final PasswordHashing passwordHashing = new PasswordHashing();
+
+        private final UserCache userCache = new UserCache();
+
+        public TokenCache getTokenCache() {
+            return tokenCache;
+        }
+
+        public UserCache getUserCache() {
+            return userCache;
+        }
+
+        public PasswordHashing getPasswordHashing() {
+            return passwordHashing;
+        }
+
+        /**
+         * Cache of the authentications of validated JWT tokens, see {@link com.mycompany.myapp.security.jwt.TokenProvider}.
+         */
+        public static class TokenCache {
+
+            private long maxSize = 10000;
+
+            private Duration timeToLive = Duration.ofMinutes(10);
+
+            public long getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(long maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+        }
+
+        /**
+         * Cache of the users authenticated by login or e-mail, see {@link com.mycompany.myapp.security.DomainUserDetailsService}.
+         */
+        public static class UserCache {
+
+            private long maxSize = 10000;
+
+            private Duration timeToLive = Duration.ofMinutes(1);
+
+            public long getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(long maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+        }
+
+        /**
+         * Hashing of the passwords, see {@link com.mycompany.myapp.security.PasswordHashing}.
+         */
+        public static class PasswordHashing {
+
+            /**
+             * Log2 of the number of BCrypt rounds. The hashes keep their strength, so it can be changed without invalidating them.
+             */
+            private int strength = 10;
+
+            private int threads = Runtime.getRuntime().availableProcessors();
+
+            private int queueCapacity = 100;
+
+            public int getStrength() {
+                return strength;
+            }
+
+            public void setStrength(int strength) {
+                this.strength = strength;
+            }
+
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+        }
+    }
+
+    /**
+     * Bulk imports, see {@link com.mycompany.myapp.service.CursoService#saveAll(reactor.core.publisher.Flux)}.
+     */
+    public static class Bulk {
+
+        /**
+         * Number of rows checked for duplicates by a single query, and written by a single batched statement.
+         */
+        private int chunkSize = 1000;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    /**
+     * Cache of the {@link com.mycompany.myapp.domain.Area} entities, see {@link com.mycompany.myapp.repository.AreaCache}.
+     */
+    public static class AreaCache {
+
+        private long maxSize = 1000;
+
+        private Duration timeToLive = Duration.ofHours(1);
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    /**
+     * Runtime detection of the blocking calls, see {@link BlockHoundConfiguration}.
+     */
+    public static class BlockHound {
+
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * Sending of the mails, see {@link com.mycompany.myapp.service.MailDispatcher}.
+     */
+    public static class Mail {
+
+        /**
+         * Number of mails waiting to be sent, beyond which the mails are rejected.
+         */
+        private int queueCapacity = 10000;
+
+        /**
+         * Number of mails sent over a single SMTP connection.
+         */
+        private int batchSize = 50;
+
+        /**
+         * Time a mail waits for the next ones, to be sent in the same batch.
+         */
+        private Duration batchTimeout = Duration.ofSeconds(1);
+
+        /**
+         * Number of concurrent SMTP connections.
+         */
+        private int connections = 2;
+
+        /**
+         * Number of mails sent per second, or 0 for no limit.
+         */
+        private int rateLimit = 10;
+
+        private int maxRetries = 3;
+
+        private Duration retryBackoff = Duration.ofSeconds(2);
+
+        private final Outbox outbox = new Outbox();
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getBatchTimeout() {
+            return batchTimeout;
+        }
+
+        public void setBatchTimeout(Duration batchTimeout) {
+            this.batchTimeout = batchTimeout;
+        }
+
+        public int getConnections() {
+            return connections;
+        }
+
+        public void setConnections(int connections) {
+            this.connections = connections;
+        }
+
+        public int getRateLimit() {
+            return rateLimit;
+        }
+
+        public void setRateLimit(int rateLimit) {
+            this.rateLimit = rateLimit;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public Duration getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+
+        public Outbox getOutbox() {
+            return outbox;
+        }
+
+        public static class Outbox {
+
+            /**
+             * Time between two relays of the outbox, as an ISO-8601 duration for the scheduler.
+             */
+            private Duration pollInterval = Duration.ofSeconds(5);
+
+            /**
+             * Number of mails of the outbox claimed in a single transaction.
+             */
+            private int batchSize = 100;
+
+            /**
+             * Time after which a mail claimed by a node is claimed again, if the node stopped before sending it.
+             */
+            private Duration lease = Duration.ofMinutes(5);
+
+            /**
+             * Number of attempts to send a mail, after which it is left in the outbox.
+             */
+            private int maxAttempts = 10;
+
+            /**
+             * Time before the second attempt to send a mail, doubled for each next attempt.
+             */
+            private Duration retryBackoff = Duration.ofMinutes(1);
+
+            public Duration getPollInterval() {
+                return pollInterval;
+            }
+
+            public void setPollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public Duration getLease() {
+                return lease;
+            }
+
+            public void setLease(Duration lease) {
+                this.lease = lease;
+            }
+
+            public int getMaxAttempts() {
+                return maxAttempts;
+            }
+
+            public void setMaxAttempts(int maxAttempts) {
+                this.maxAttempts = maxAttempts;
+            }
+
+            public Duration getRetryBackoff() {
+                return retryBackoff;
+            }
+
+            public void setRetryBackoff(Duration retryBackoff) {
+                this.retryBackoff = retryBackoff;
+            }
+        }
+    }
+
+    /**
+     * Nightly deletion of the users which were not activated, see {@link com.mycompany.myapp.service.UserService}.
+     */
+    public static class NotActivatedUsers {
+
+        /**
+         * Number of users deleted in a single transaction.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Time after which the lock of the deletion expires, if the node holding it stopped before releasing it: the lock is
+         * extended by as much before each batch.
+         */
+        private Duration lockAtMostFor = Duration.ofHours(1);
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getLockAtMostFor() {
+            return lockAtMostFor;
+        }
+
+        public void setLockAtMostFor(Duration lockAtMostFor) {
+            this.lockAtMostFor = lockAtMostFor;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -0,0 +1,40 @@
+package com.mycompany.myapp.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingMethod;
+import reactor.blockhound.BlockingOperationError;
+
+/**
+ * Detects the blocking calls on the non-blocking threads, the Netty event loops and the Reactor parallel schedulers, at runtime.
+ * <p>
+ * Enabled with {@code application.block-hound.enabled}, in staging: unlike in the tests, a blocking call does not fail, it is
+ * logged and counted by the {@code blockhound.blocking.calls} meter, tagged with the blocking method. The allowed calls are the
+ * ones of {@link JHipsterBlockHoundIntegration}, shared with the tests.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.block-hound", name = "enabled", havingValue = "true")
+public class BlockHoundConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockHoundConfiguration.class);
+
+    public BlockHoundConfiguration(MeterRegistry meterRegistry) {
+        BlockHound.install(builder -> builder.blockingMethodCallback(method -> reportBlockingCall(meterRegistry, method)));
+        log.info("BlockHound installed, blocking calls on non-blocking threads are reported");
+    }
+
+    static void reportBlockingCall(MeterRegistry meterRegistry, BlockingMethod method) {
+        Counter
+            .builder("blockhound.blocking.calls")
+            .description("Blocking calls on non-blocking threads")
+            .tag("method", method.toString())
+            .register(meterRegistry)
+            .increment();
+        log.warn("Blocking call on thread {}", Thread.currentThread().getName(), new BlockingOperationError(method));
+    }
+}
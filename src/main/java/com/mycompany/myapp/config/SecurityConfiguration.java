@@ -3,6 +3,7 @@ package com.mycompany.myapp.config;
 import static org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers.pathMatchers;
 
 import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.PasswordHashing;
 import com.mycompany.myapp.security.jwt.JWTFilter;
 import com.mycompany.myapp.security.jwt.TokenProvider;
 import com.mycompany.myapp.web.filter.SpaWebFilter;
@@ -38,6 +39,10 @@ public class SecurityConfiguration {
 
     private final TokenProvider tokenProvider;
 
+    private final ApplicationProperties applicationProperties;
+
+    private final PasswordHashing passwordHashing;
+
     private final SecurityProblemSupport problemSupport;
     private final CorsWebFilter corsWebFilter;
 
@@ -45,19 +50,23 @@ public class SecurityConfiguration {
         ReactiveUserDetailsService userDetailsService,
         TokenProvider tokenProvider,
         JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        PasswordHashing passwordHashing,
         SecurityProblemSupport problemSupport,
         CorsWebFilter corsWebFilter
     ) {
         this.userDetailsService = userDetailsService;
         this.tokenProvider = tokenProvider;
         this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
+        this.passwordHashing = passwordHashing;
         this.problemSupport = problemSupport;
         this.corsWebFilter = corsWebFilter;
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(applicationProperties.getSecurity().getPasswordHashing().getStrength());
     }
 
     @Bean
@@ -66,6 +75,7 @@ public class SecurityConfiguration {
             userDetailsService
         );
         authenticationManager.setPasswordEncoder(passwordEncoder());
+        authenticationManager.setScheduler(passwordHashing.getScheduler());
         return authenticationManager;
     }
 
@@ -6,6 +6,7 @@ import java.time.Instant;
 import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -40,6 +41,13 @@ public class Area implements Serializable {
     @Column("data_inatividade")
     private Instant dataInatividade;
 
+    @Column("data_atualizacao")
+    private Instant dataAtualizacao;
+
+    @Version
+    @Column("versao")
+    private Long versao;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -120,6 +128,32 @@ public class Area implements Serializable {
         this.dataInatividade = dataInatividade;
     }
 
+    public Instant getDataAtualizacao() {
+        return this.dataAtualizacao;
+    }
+
+    public Area dataAtualizacao(Instant dataAtualizacao) {
+        this.setDataAtualizacao(dataAtualizacao);
+        return this;
+    }
+
+    public void setDataAtualizacao(Instant dataAtualizacao) {
+        this.dataAtualizacao = dataAtualizacao;
+    }
+
+    public Long getVersao() {
+        return this.versao;
+    }
+
+    public Area versao(Long versao) {
+        this.setVersao(versao);
+        return this;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -149,6 +183,8 @@ public class Area implements Serializable {
             ", status='" + getStatus() + "'" +
             ", dataCriacao='" + getDataCriacao() + "'" +
             ", dataInatividade='" + getDataInatividade() + "'" +
+            ", dataAtualizacao='" + getDataAtualizacao() + "'" +
+            ", versao=" + getVersao() +
             "}";
     }
 }
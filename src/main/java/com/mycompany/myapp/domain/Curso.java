@@ -6,6 +6,7 @@ import java.time.Instant;
 import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -40,6 +41,13 @@ public class Curso implements Serializable {
     @Column("data_inatividade")
     private Instant dataInatividade;
 
+    @Column("data_atualizacao")
+    private Instant dataAtualizacao;
+
+    @Version
+    @Column("versao")
+    private Long versao;
+
     @Transient
     private Area area;
 
@@ -126,6 +134,32 @@ public class Curso implements Serializable {
         this.dataInatividade = dataInatividade;
     }
 
+    public Instant getDataAtualizacao() {
+        return this.dataAtualizacao;
+    }
+
+    public Curso dataAtualizacao(Instant dataAtualizacao) {
+        this.setDataAtualizacao(dataAtualizacao);
+        return this;
+    }
+
+    public void setDataAtualizacao(Instant dataAtualizacao) {
+        this.dataAtualizacao = dataAtualizacao;
+    }
+
+    public Long getVersao() {
+        return this.versao;
+    }
+
+    public Curso versao(Long versao) {
+        this.setVersao(versao);
+        return this;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     public Area getArea() {
         return this.area;
     }
@@ -177,6 +211,8 @@ public class Curso implements Serializable {
             ", status='" + getStatus() + "'" +
             ", dataCriacao='" + getDataCriacao() + "'" +
             ", dataInatividade='" + getDataInatividade() + "'" +
+            ", dataAtualizacao='" + getDataAtualizacao() + "'" +
+            ", versao=" + getVersao() +
             "}";
     }
 }
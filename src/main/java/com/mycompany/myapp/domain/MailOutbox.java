@@ -0,0 +1,154 @@
+package com.mycompany.myapp.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A mail to send to a user, written in the same transaction as the change of the user, and relayed to the mail queue.
+ */
+@Table("mail_outbox")
+public class MailOutbox implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @NotNull
+    @Column("user_id")
+    private Long userId;
+
+    @NotNull
+    @Size(max = 100)
+    @Column("template_name")
+    private String templateName;
+
+    @NotNull
+    @Size(max = 100)
+    @Column("title_key")
+    private String titleKey;
+
+    @NotNull
+    @Column("created_date")
+    private Instant createdDate;
+
+    /**
+     * The number of attempts to send the mail, defaulting to 0 in the database.
+     */
+    @Column("attempts")
+    private Integer attempts;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public MailOutbox id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return this.userId;
+    }
+
+    public MailOutbox userId(Long userId) {
+        this.setUserId(userId);
+        return this;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getTemplateName() {
+        return this.templateName;
+    }
+
+    public MailOutbox templateName(String templateName) {
+        this.setTemplateName(templateName);
+        return this;
+    }
+
+    public void setTemplateName(String templateName) {
+        this.templateName = templateName;
+    }
+
+    public String getTitleKey() {
+        return this.titleKey;
+    }
+
+    public MailOutbox titleKey(String titleKey) {
+        this.setTitleKey(titleKey);
+        return this;
+    }
+
+    public void setTitleKey(String titleKey) {
+        this.titleKey = titleKey;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public MailOutbox createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Integer getAttempts() {
+        return this.attempts;
+    }
+
+    public MailOutbox attempts(Integer attempts) {
+        this.setAttempts(attempts);
+        return this;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MailOutbox)) {
+            return false;
+        }
+        return id != null && id.equals(((MailOutbox) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MailOutbox{" +
+            "id=" + getId() +
+            ", userId=" + getUserId() +
+            ", templateName='" + getTemplateName() + "'" +
+            ", titleKey='" + getTitleKey() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            ", attempts=" + getAttempts() +
+            "}";
+    }
+}
@@ -0,0 +1,198 @@
+package com.mycompany.myapp.domain.criteria;
+
+import com.mycompany.myapp.domain.enumeration.StatusCurso;
+import java.io.Serializable;
+import java.util.Objects;
+import org.springdoc.api.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.InstantFilter;
+import tech.jhipster.service.filter.LongFilter;
+
+/**
+ * Criteria class for the {@link com.mycompany.myapp.domain.Curso} entity. This class is used
+ * in {@link com.mycompany.myapp.web.rest.CursoResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /cursos?id.greaterThan=5&attr1.contains=something&attr2.specified=false}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class CursoCriteria implements Serializable, Criteria {
+
+    /**
+     * Class for filtering StatusCurso
+     */
+    public static class StatusCursoFilter extends Filter<StatusCurso> {
+
+        public StatusCursoFilter() {}
+
+        public StatusCursoFilter(StatusCursoFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public StatusCursoFilter copy() {
+            return new StatusCursoFilter(this);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private PrefixStringFilter nome;
+
+    private StatusCursoFilter status;
+
+    private InstantFilter dataCriacao;
+
+    private InstantFilter dataInatividade;
+
+    private LongFilter areaId;
+
+    public CursoCriteria() {}
+
+    public CursoCriteria(CursoCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.nome = other.nome == null ? null : other.nome.copy();
+        this.status = other.status == null ? null : other.status.copy();
+        this.dataCriacao = other.dataCriacao == null ? null : other.dataCriacao.copy();
+        this.dataInatividade = other.dataInatividade == null ? null : other.dataInatividade.copy();
+        this.areaId = other.areaId == null ? null : other.areaId.copy();
+    }
+
+    @Override
+    public CursoCriteria copy() {
+        return new CursoCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public PrefixStringFilter getNome() {
+        return nome;
+    }
+
+    public PrefixStringFilter nome() {
+        if (nome == null) {
+            nome = new PrefixStringFilter();
+        }
+        return nome;
+    }
+
+    public void setNome(PrefixStringFilter nome) {
+        this.nome = nome;
+    }
+
+    public StatusCursoFilter getStatus() {
+        return status;
+    }
+
+    public StatusCursoFilter status() {
+        if (status == null) {
+            status = new StatusCursoFilter();
+        }
+        return status;
+    }
+
+    public void setStatus(StatusCursoFilter status) {
+        this.status = status;
+    }
+
+    public InstantFilter getDataCriacao() {
+        return dataCriacao;
+    }
+
+    public InstantFilter dataCriacao() {
+        if (dataCriacao == null) {
+            dataCriacao = new InstantFilter();
+        }
+        return dataCriacao;
+    }
+
+    public void setDataCriacao(InstantFilter dataCriacao) {
+        this.dataCriacao = dataCriacao;
+    }
+
+    public InstantFilter getDataInatividade() {
+        return dataInatividade;
+    }
+
+    public InstantFilter dataInatividade() {
+        if (dataInatividade == null) {
+            dataInatividade = new InstantFilter();
+        }
+        return dataInatividade;
+    }
+
+    public void setDataInatividade(InstantFilter dataInatividade) {
+        this.dataInatividade = dataInatividade;
+    }
+
+    public LongFilter getAreaId() {
+        return areaId;
+    }
+
+    public LongFilter areaId() {
+        if (areaId == null) {
+            areaId = new LongFilter();
+        }
+        return areaId;
+    }
+
+    public void setAreaId(LongFilter areaId) {
+        this.areaId = areaId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CursoCriteria that = (CursoCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(nome, that.nome) &&
+            Objects.equals(status, that.status) &&
+            Objects.equals(dataCriacao, that.dataCriacao) &&
+            Objects.equals(dataInatividade, that.dataInatividade) &&
+            Objects.equals(areaId, that.areaId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, nome, status, dataCriacao, dataInatividade, areaId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CursoCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (nome != null ? "nome=" + nome + ", " : "") +
+            (status != null ? "status=" + status + ", " : "") +
+            (dataCriacao != null ? "dataCriacao=" + dataCriacao + ", " : "") +
+            (dataInatividade != null ? "dataInatividade=" + dataInatividade + ", " : "") +
+            (areaId != null ? "areaId=" + areaId + ", " : "") +
+            "}";
+    }
+}
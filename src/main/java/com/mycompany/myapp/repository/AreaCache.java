@@ -0,0 +1,97 @@
+package com.mycompany.myapp.repository;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Area;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-through cache of the {@link Area} entities, a small and rarely changing reference table.
+ * <p>
+ * The cached entities are shared, and must not be modified. The entries are evicted by {@link com.mycompany.myapp.service.AreaService}
+ * once the transaction writing an area ends, and expire after the configured time to live otherwise. The areas loaded while
+ * an eviction happens are returned but not kept, as they may have been read before the commit.
+ */
+@Component
+public class AreaCache {
+
+    private final AreaRepository areaRepository;
+
+    private final AsyncCache<Long, Area> cache;
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    public AreaCache(AreaRepository areaRepository, ApplicationProperties applicationProperties) {
+        this.areaRepository = areaRepository;
+        ApplicationProperties.AreaCache areaCache = applicationProperties.getAreaCache();
+        this.cache = Caffeine.newBuilder().maximumSize(areaCache.getMaxSize()).expireAfterWrite(areaCache.getTimeToLive()).buildAsync();
+    }
+
+    /**
+     * Get an area, loading it from the database if it is not cached.
+     *
+     * @param id the id of the area.
+     * @return the area, or empty if it does not exist.
+     */
+    public Mono<Area> get(Long id) {
+        return Mono.deferContextual(context -> {
+            long evictionsBefore = evictions.get();
+            CompletableFuture<Area> area = cache.get(id, (key, executor) -> areaRepository.findById(key).contextWrite(context).toFuture());
+            return Mono.fromFuture(area).doOnNext(loaded -> discardIfEvicted(evictionsBefore, () -> cache.asMap().remove(id, area)));
+        });
+    }
+
+    /**
+     * Get the given areas, loading the ones which are not cached from the database with a single query.
+     *
+     * @param ids the ids of the areas.
+     * @return the areas by id, without the ones which do not exist.
+     */
+    public Mono<Map<Long, Area>> getAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return Mono.deferContextual(context -> {
+            long evictionsBefore = evictions.get();
+            CompletableFuture<Map<Long, Area>> areas = cache.getAll(
+                ids,
+                (keys, executor) ->
+                    areaRepository.findAllById(Flux.fromIterable(keys)).collectMap(Area::getId).contextWrite(context).toFuture()
+            );
+            return Mono
+                .fromFuture(areas)
+                .doOnNext(loaded -> discardIfEvicted(evictionsBefore, () -> cache.synchronous().invalidateAll(ids)));
+        });
+    }
+
+    private void discardIfEvicted(long evictionsBefore, Runnable discard) {
+        if (evictions.get() != evictionsBefore) {
+            discard.run();
+        }
+    }
+
+    /**
+     * Evict an area, after it has been written.
+     *
+     * @param id the id of the area.
+     */
+    public void evict(Long id) {
+        evictions.incrementAndGet();
+        cache.synchronous().invalidate(id);
+    }
+
+    /**
+     * Evict all the areas.
+     */
+    public void evictAll() {
+        evictions.incrementAndGet();
+        cache.synchronous().invalidateAll();
+    }
+}
@@ -1,6 +1,9 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Area;
+import com.mycompany.myapp.domain.criteria.AreaCriteria;
+import java.time.Instant;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -17,6 +20,15 @@ import reactor.core.publisher.Mono;
 public interface AreaRepository extends ReactiveCrudRepository<Area, Long>, AreaRepositoryInternal {
     Flux<Area> findAllBy(Pageable pageable);
 
+    @Query("SELECT EXISTS(SELECT 1 FROM area entity WHERE lower(entity.nome) = lower(:nome) LIMIT 1)")
+    Mono<Boolean> existsByNomeIgnoreCase(String nome);
+
+    @Query("SELECT EXISTS(SELECT 1 FROM area entity WHERE lower(entity.nome) = lower(:nome) AND entity.id <> :id LIMIT 1)")
+    Mono<Boolean> existsByNomeIgnoreCaseAndIdNot(String nome, Long id);
+
+    @Query("SELECT entity.data_atualizacao FROM area entity WHERE entity.id = :id")
+    Mono<Instant> findLastModifiedById(Long id);
+
     @Override
     <S extends Area> Mono<S> save(S entity);
 
@@ -35,10 +47,36 @@ interface AreaRepositoryInternal {
 
     Flux<Area> findAllBy(Pageable pageable);
 
+    Flux<Area> findAllBy(Keyset keyset);
+
+    Flux<Area> findAllBy(Keyset keyset, AreaCriteria criteria);
+
+    Mono<Page<Area>> findPageBy(Pageable pageable);
+
     Flux<Area> findAll();
 
     Mono<Area> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<Area> findAllBy(Pageable pageable, Criteria criteria);
 
+    Mono<Void> deleteById(Long id);
+
+    Mono<Void> deleteAll();
+
+    /**
+     * Stream the areas matching the criteria, fetching the rows from the database as they are consumed.
+     * @param criteria the filtering criteria, or null.
+     * @return the stream of areas.
+     */
+    Flux<Area> findAllBy(AreaCriteria criteria);
+
+    Flux<Area> findAllBy(Pageable pageable, AreaCriteria criteria);
+
+    Mono<Page<Area>> findPageBy(Pageable pageable, AreaCriteria criteria);
+
+    Mono<Long> countBy(AreaCriteria criteria);
+
+    /**
+     * Get the version of the area table, which changes whenever an area is written or deleted.
+     * @return the version of the table.
+     */
+    Mono<TableVersion> findTableVersion();
 }
@@ -3,11 +3,13 @@ package com.mycompany.myapp.repository;
 import static org.springframework.data.relational.core.query.Criteria.where;
 
 import com.mycompany.myapp.domain.Area;
+import com.mycompany.myapp.domain.criteria.AreaCriteria;
 import com.mycompany.myapp.domain.enumeration.StatusCurso;
 import com.mycompany.myapp.repository.rowmapper.AreaRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -15,6 +17,7 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -26,6 +29,9 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Expressions;
+import org.springframework.data.relational.core.sql.Functions;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -34,6 +40,8 @@ import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 /**
  * Spring Data R2DBC custom repository implementation for the Area entity.
@@ -49,10 +57,17 @@ class AreaRepositoryInternalImpl extends SimpleR2dbcRepository<Area, Long> imple
 
     private static final Table entityTable = Table.aliased("area", EntityManager.ENTITY_ALIAS);
 
+    private static final String LIST_QUERY = "list";
+    private static final String PAGE_QUERY = "page";
+    private static final String COUNT_QUERY = "count";
+
+    private final TableVersionRepository tableVersionRepository;
+
     public AreaRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
         AreaRowMapper areaMapper,
+        TableVersionRepository tableVersionRepository,
         R2dbcEntityOperations entityOperations,
         R2dbcConverter converter
     ) {
@@ -65,39 +80,163 @@ class AreaRepositoryInternalImpl extends SimpleR2dbcRepository<Area, Long> imple
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
         this.areaMapper = areaMapper;
+        this.tableVersionRepository = tableVersionRepository;
     }
 
     @Override
     public Flux<Area> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return findAllBy(pageable, null);
+    }
+
+    @Override
+    public Flux<Area> findAllBy(Pageable pageable, AreaCriteria criteria) {
+        FilterConditionBuilder conditions = buildConditions(criteria);
+        return createQuery(pageable, conditions.build(), conditions.getParameters()).all();
+    }
+
+    @Override
+    public Flux<Area> findAllBy(Keyset keyset) {
+        return findAllBy(keyset, null);
+    }
+
+    @Override
+    public Flux<Area> findAllBy(Keyset keyset, AreaCriteria criteria) {
+        FilterConditionBuilder conditions = buildConditions(criteria);
+        return createKeysetQuery(keyset, conditions.build(), conditions.getParameters()).all();
+    }
+
+    @Override
+    public Mono<Page<Area>> findPageBy(Pageable pageable) {
+        return findPageBy(pageable, null);
+    }
+
+    @Override
+    public Mono<Page<Area>> findPageBy(Pageable pageable, AreaCriteria criteria) {
+        FilterConditionBuilder conditions = buildConditions(criteria);
+        String select = entityManager.createSelect(
+            PAGE_QUERY,
+            () -> {
+                List<Expression> columns = createColumns();
+                columns.add(entityManager.createTotalCount());
+                return createSelectFrom(columns);
+            },
+            Area.class,
+            pageable,
+            conditions.build()
+        );
+        BiFunction<Row, RowMetadata, Area> process = process();
+        Flux<Tuple2<Area, Long>> rows = entityManager
+            .bind(db.sql(select), pageable, conditions.getParameters())
+            .map((row, metadata) -> Tuples.of(process.apply(row, metadata), row.get(EntityManager.TOTAL_COUNT_ALIAS, Long.class)))
+            .all();
+        return entityManager.createPage(rows, pageable, countBy(criteria));
+    }
+
+    @Override
+    public Mono<Long> countBy(AreaCriteria criteria) {
+        FilterConditionBuilder conditions = buildConditions(criteria);
+        String select = entityManager.createSelect(
+            COUNT_QUERY,
+            () -> Select.builder().select(Functions.count(Expressions.asterisk())).from(entityTable),
+            Area.class,
+            (Pageable) null,
+            conditions.build()
+        );
+        return entityManager.bind(db.sql(select), null, conditions.getParameters()).map((row, metadata) -> row.get(0, Long.class)).one();
+    }
+
+    private FilterConditionBuilder buildConditions(AreaCriteria criteria) {
+        FilterConditionBuilder builder = new FilterConditionBuilder();
+        if (criteria != null) {
+            builder
+                .filter(entityTable.column("id"), criteria.getId())
+                .filter(entityTable.column("nome"), criteria.getNome())
+                .filter(entityTable.column("status"), criteria.getStatus())
+                .filter(entityTable.column("data_criacao"), criteria.getDataCriacao())
+                .filter(entityTable.column("data_inatividade"), criteria.getDataInatividade());
+        }
+        return builder;
     }
 
     RowsFetchSpec<Area> createQuery(Pageable pageable, Condition whereClause) {
-        List<Expression> columns = AreaSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Area.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        return createQuery(pageable, whereClause, Map.of());
+    }
+
+    RowsFetchSpec<Area> createQuery(Pageable pageable, Condition whereClause, Map<String, ?> parameters) {
+        String select = entityManager.createSelect(LIST_QUERY, () -> createSelectFrom(createColumns()), Area.class, pageable, whereClause);
+        return entityManager.bind(db.sql(select), pageable, parameters).map(process());
+    }
+
+    RowsFetchSpec<Area> createKeysetQuery(Keyset keyset, Condition whereClause, Map<String, ?> parameters) {
+        String select = entityManager.createSelect(LIST_QUERY, () -> createSelectFrom(createColumns()), Area.class, keyset, whereClause);
+        return entityManager.bind(db.sql(select), Area.class, keyset, parameters).map(process());
+    }
+
+    private List<Expression> createColumns() {
+        return AreaSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+    }
+
+    private SelectFromAndJoin createSelectFrom(List<Expression> columns) {
+        return Select.builder().select(columns).from(entityTable);
     }
 
     @Override
     public Flux<Area> findAll() {
-        return findAllBy(null);
+        return findAllBy((AreaCriteria) null);
+    }
+
+    @Override
+    public Flux<Area> findAllBy(AreaCriteria criteria) {
+        FilterConditionBuilder conditions = buildConditions(criteria);
+        String select = entityManager.createSelect(
+            LIST_QUERY,
+            () -> createSelectFrom(createColumns()),
+            Area.class,
+            (Pageable) null,
+            conditions.build()
+        );
+        return entityManager
+            .bind(db.sql(select), null, conditions.getParameters())
+            .filter(statement -> statement.fetchSize(EntityManager.STREAM_FETCH_SIZE))
+            .map(process())
+            .all();
     }
 
     @Override
     public Mono<Area> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+        return createQuery(null, whereClause, Map.of("id", id)).one();
     }
 
-    private Area process(Row row, RowMetadata metadata) {
-        Area entity = areaMapper.apply(row, "e");
-        return entity;
+    private BiFunction<Row, RowMetadata, Area> process() {
+        return areaMapper.compile("e");
     }
 
     @Override
     public <S extends Area> Mono<S> save(S entity) {
-        return super.save(entity);
+        entity.setDataAtualizacao(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        return super.save(entity).flatMap(saved -> incrementTableVersion().thenReturn(saved));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return super.deleteById(id).then(incrementTableVersion());
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return super.deleteAll().then(incrementTableVersion());
+    }
+
+    @Override
+    public Mono<TableVersion> findTableVersion() {
+        return tableVersionRepository.find(TableVersionRepository.AREA);
+    }
+
+    /**
+     * Increments the version of the area table after a write, in the transaction of the write.
+     */
+    private Mono<Void> incrementTableVersion() {
+        return tableVersionRepository.increment(TableVersionRepository.AREA);
     }
 }
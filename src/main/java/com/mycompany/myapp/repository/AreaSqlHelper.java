@@ -16,6 +16,8 @@ public class AreaSqlHelper {
         columns.add(Column.aliased("status", table, columnPrefix + "_status"));
         columns.add(Column.aliased("data_criacao", table, columnPrefix + "_data_criacao"));
         columns.add(Column.aliased("data_inatividade", table, columnPrefix + "_data_inatividade"));
+        columns.add(Column.aliased("data_atualizacao", table, columnPrefix + "_data_atualizacao"));
+        columns.add(Column.aliased("versao", table, columnPrefix + "_versao"));
 
         return columns;
     }
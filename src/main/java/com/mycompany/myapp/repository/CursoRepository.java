@@ -1,6 +1,11 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Curso;
+import com.mycompany.myapp.domain.criteria.CursoCriteria;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -8,6 +13,7 @@ import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
 /**
  * Spring Data R2DBC repository for the Curso entity.
@@ -23,6 +29,18 @@ public interface CursoRepository extends ReactiveCrudRepository<Curso, Long>, Cu
     @Query("SELECT * FROM curso entity WHERE entity.area_id IS NULL")
     Flux<Curso> findAllWhereAreaIsNull();
 
+    @Query("SELECT EXISTS(SELECT 1 FROM curso entity WHERE lower(entity.nome) = lower(:nome) LIMIT 1)")
+    Mono<Boolean> existsByNomeIgnoreCase(String nome);
+
+    @Query("SELECT EXISTS(SELECT 1 FROM curso entity WHERE lower(entity.nome) = lower(:nome) AND entity.id <> :id LIMIT 1)")
+    Mono<Boolean> existsByNomeIgnoreCaseAndIdNot(String nome, Long id);
+
+    @Query("SELECT * FROM curso entity WHERE lower(entity.nome) IN (:nomes)")
+    Flux<Curso> findAllByLowerNomeIn(Collection<String> nomes);
+
+    @Query("SELECT entity.id FROM curso entity WHERE entity.id IN (:ids)")
+    Flux<Long> findIdsByIdIn(Collection<Long> ids);
+
     @Override
     <S extends Curso> Mono<S> save(S entity);
 
@@ -41,10 +59,53 @@ interface CursoRepositoryInternal {
 
     Flux<Curso> findAllBy(Pageable pageable);
 
+    Flux<Curso> findAllBy(Keyset keyset);
+
+    Flux<Curso> findAllBy(Keyset keyset, CursoCriteria criteria);
+
+    Flux<Tuple2<Curso, Float>> search(String query, Keyset keyset);
+
+    Mono<Page<Curso>> findPageBy(Pageable pageable);
+
+    Flux<Curso> insertAll(List<Curso> cursos);
+
+    Flux<Integer> updateAll(List<Curso> cursos);
+
     Flux<Curso> findAll();
 
     Mono<Curso> findById(Long id);
-    // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
-    // Flux<Curso> findAllBy(Pageable pageable, Criteria criteria);
 
+    Mono<Void> deleteById(Long id);
+
+    Mono<Void> deleteAll();
+
+    /**
+     * Stream the cursos matching the criteria, with their areas, fetching the rows from the database as they are consumed.
+     * @param criteria the filtering criteria, or null.
+     * @return the stream of cursos.
+     */
+    Flux<Curso> findAllBy(CursoCriteria criteria);
+
+    Flux<Curso> findAllBy(Pageable pageable, CursoCriteria criteria);
+
+    Mono<Page<Curso>> findPageBy(Pageable pageable, CursoCriteria criteria);
+
+    Flux<Curso> findSummariesBy(Pageable pageable, CursoCriteria criteria);
+
+    Mono<Page<Curso>> findSummaryPageBy(Pageable pageable, CursoCriteria criteria);
+
+    Mono<Long> countBy(CursoCriteria criteria);
+
+    /**
+     * Get the last modification date of a curso, or of its area if the area was modified later.
+     * @param id the id of the curso.
+     * @return the last modification date, or empty if the curso does not exist.
+     */
+    Mono<Instant> findLastModifiedById(Long id);
+
+    /**
+     * Get the version of the curso and area tables, which changes whenever a curso or an area is written or deleted.
+     * @return the version of the tables.
+     */
+    Mono<TableVersion> findTableVersion();
 }
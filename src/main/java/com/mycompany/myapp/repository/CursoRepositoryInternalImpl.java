@@ -2,24 +2,36 @@ package com.mycompany.myapp.repository;
 
 import static org.springframework.data.relational.core.query.Criteria.where;
 
+import com.mycompany.myapp.domain.Area;
 import com.mycompany.myapp.domain.Curso;
+import com.mycompany.myapp.domain.criteria.CursoCriteria;
 import com.mycompany.myapp.domain.enumeration.StatusCurso;
 import com.mycompany.myapp.repository.rowmapper.AreaRowMapper;
+import com.mycompany.myapp.repository.rowmapper.ColumnConverter;
 import com.mycompany.myapp.repository.rowmapper.CursoRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
 import org.springframework.data.r2dbc.repository.support.SimpleR2dbcRepository;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.sql.Column;
@@ -27,14 +39,21 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Expressions;
+import org.springframework.data.relational.core.sql.Functions;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.repository.support.MappingRelationalEntityInformation;
 import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
 import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 /**
  * Spring Data R2DBC custom repository implementation for the Curso entity.
@@ -45,20 +64,56 @@ class CursoRepositoryInternalImpl extends SimpleR2dbcRepository<Curso, Long> imp
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final AreaCache areaCache;
 
     private final AreaRowMapper areaMapper;
     private final CursoRowMapper cursoMapper;
+    private final ColumnConverter columnConverter;
+    private final TableVersionRepository tableVersionRepository;
 
     private static final Table entityTable = Table.aliased("curso", EntityManager.ENTITY_ALIAS);
     private static final Table areaTable = Table.aliased("area", "area");
 
+    private static final String JOIN_QUERY = "join";
+    private static final String LIST_QUERY = "list";
+    private static final String PAGE_QUERY = "page";
+    private static final String COUNT_QUERY = "count";
+    private static final String SUMMARY_QUERY = "summary";
+    private static final String SUMMARY_PAGE_QUERY = "summary_page";
+
+    private static final String LAST_MODIFIED_QUERY =
+        "SELECT e.data_atualizacao, area.data_atualizacao FROM curso e LEFT JOIN area ON area.id = e.area_id WHERE e.id = :id";
+
+    private static final String SEARCH_RANK_ALIAS = "search_rank";
+    private static final String SEARCH_QUERY =
+        "SELECT * FROM (%s) search %s ORDER BY search.search_rank DESC, search.e_id DESC LIMIT :search_limit";
+    private static final String SEARCH_NEXT_CONDITION =
+        "WHERE search.search_rank < :last_rank OR (search.search_rank = :last_rank AND search.e_id < :last_id)";
+
+    // The search_vector column and its GIN index are only created on PostgreSQL, the other databases scan the names and descriptions
+    private static final String TS_QUERY = "websearch_to_tsquery('portuguese', :query)";
+    private static final String TS_RANK = "ts_rank(e.search_vector, " + TS_QUERY + ")";
+    private static final String TS_MATCH = "e.search_vector @@ " + TS_QUERY;
+    private static final String LIKE_RANK =
+        "CAST((CASE WHEN lower(e.nome) LIKE :query THEN 2 ELSE 0 END) + " +
+        "(CASE WHEN lower(e.descricao) LIKE :query THEN 1 ELSE 0 END) AS REAL)";
+    private static final String LIKE_MATCH = "(lower(e.nome) LIKE :query OR lower(e.descricao) LIKE :query)";
+
+    private final boolean fullTextSearch;
+    private final String searchSelect;
+    private final String searchNextSelect;
+
     public CursoRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
+        AreaCache areaCache,
         AreaRowMapper areaMapper,
         CursoRowMapper cursoMapper,
+        ColumnConverter columnConverter,
+        TableVersionRepository tableVersionRepository,
         R2dbcEntityOperations entityOperations,
-        R2dbcConverter converter
+        R2dbcConverter converter,
+        R2dbcDialect dialect
     ) {
         super(
             new MappingRelationalEntityInformation(converter.getMappingContext().getRequiredPersistentEntity(Curso.class)),
@@ -68,49 +123,338 @@ class CursoRepositoryInternalImpl extends SimpleR2dbcRepository<Curso, Long> imp
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
+        this.areaCache = areaCache;
         this.areaMapper = areaMapper;
         this.cursoMapper = cursoMapper;
+        this.columnConverter = columnConverter;
+        this.tableVersionRepository = tableVersionRepository;
+        this.fullTextSearch = dialect instanceof PostgresDialect && !(dialect instanceof H2Dialect);
+        String select = entityManager.createSelect(createSearchSelect());
+        this.searchSelect = String.format(SEARCH_QUERY, select, "");
+        this.searchNextSelect = String.format(SEARCH_QUERY, select, SEARCH_NEXT_CONDITION);
     }
 
     @Override
     public Flux<Curso> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return findAllBy(pageable, null);
+    }
+
+    @Override
+    public Flux<Curso> findAllBy(Pageable pageable, CursoCriteria criteria) {
+        FilterConditionBuilder conditions = buildConditions(criteria);
+        return withAreas(createListQuery(pageable, conditions.build(), conditions.getParameters()).all());
+    }
+
+    @Override
+    public Flux<Curso> findAllBy(Keyset keyset) {
+        return findAllBy(keyset, null);
+    }
+
+    @Override
+    public Flux<Curso> findAllBy(Keyset keyset, CursoCriteria criteria) {
+        FilterConditionBuilder conditions = buildConditions(criteria);
+        return withAreas(createKeysetQuery(keyset, conditions.build(), conditions.getParameters()).all());
+    }
+
+    @Override
+    public Flux<Tuple2<Curso, Float>> search(String query, Keyset keyset) {
+        GenericExecuteSpec spec = db
+            .sql(keyset.isFirst() ? searchSelect : searchNextSelect)
+            .bind("query", fullTextSearch ? query : "%" + FilterConditionBuilder.toLikePattern(query) + "%")
+            .bind("search_limit", keyset.getSize());
+        if (!keyset.isFirst()) {
+            spec = spec.bind("last_rank", Float.valueOf(keyset.getLastValue())).bind("last_id", keyset.getLastId());
+        }
+        BiFunction<Row, RowMetadata, Curso> process = processWithoutArea();
+        return spec
+            .map((row, metadata) -> Tuples.of(process.apply(row, metadata), row.get(SEARCH_RANK_ALIAS, Float.class)))
+            .all()
+            .collectList()
+            .flatMapMany(results ->
+                setAreas(results.stream().map(Tuple2::getT1).collect(Collectors.toList())).thenMany(Flux.fromIterable(results))
+            );
+    }
+
+    /**
+     * Creates the select of the cursos matching a search query, along with their relevance: on PostgreSQL, a full-text search
+     * on the indexed {@code search_vector} column, and elsewhere a case-insensitive search of the query in the name and the
+     * description, which ranks the matching names first.
+     */
+    private Select createSearchSelect() {
+        List<Expression> columns = CursoSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        columns.add(Expressions.just((fullTextSearch ? TS_RANK : LIKE_RANK) + " AS " + SEARCH_RANK_ALIAS));
+        return Select.builder().select(columns).from(entityTable).where(Conditions.just(fullTextSearch ? TS_MATCH : LIKE_MATCH)).build();
+    }
+
+    @Override
+    public Mono<Page<Curso>> findPageBy(Pageable pageable) {
+        return findPageBy(pageable, null);
+    }
+
+    @Override
+    public Mono<Page<Curso>> findPageBy(Pageable pageable, CursoCriteria criteria) {
+        return findPage(
+            PAGE_QUERY,
+            () -> CursoSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS),
+            processWithoutArea(),
+            pageable,
+            criteria
+        );
+    }
+
+    @Override
+    public Flux<Curso> findSummariesBy(Pageable pageable, CursoCriteria criteria) {
+        FilterConditionBuilder conditions = buildConditions(criteria);
+        String select = entityManager.createSelect(
+            SUMMARY_QUERY,
+            () -> createListSelectFrom(CursoSqlHelper.getSummaryColumns(entityTable, EntityManager.ENTITY_ALIAS)),
+            Curso.class,
+            pageable,
+            conditions.build()
+        );
+        return withAreas(entityManager.bind(db.sql(select), pageable, conditions.getParameters()).map(processSummary()).all());
+    }
+
+    @Override
+    public Mono<Page<Curso>> findSummaryPageBy(Pageable pageable, CursoCriteria criteria) {
+        return findPage(
+            SUMMARY_PAGE_QUERY,
+            () -> CursoSqlHelper.getSummaryColumns(entityTable, EntityManager.ENTITY_ALIAS),
+            processSummary(),
+            pageable,
+            criteria
+        );
+    }
+
+    /**
+     * Finds a page of the given curso columns, along with the total count of the cursos matching the criteria, and sets their
+     * areas from the {@link AreaCache}.
+     */
+    private Mono<Page<Curso>> findPage(
+        String queryName,
+        Supplier<List<Expression>> columns,
+        BiFunction<Row, RowMetadata, Curso> process,
+        Pageable pageable,
+        CursoCriteria criteria
+    ) {
+        FilterConditionBuilder conditions = buildConditions(criteria);
+        String select = entityManager.createSelect(
+            queryName,
+            () -> {
+                List<Expression> pageColumns = columns.get();
+                pageColumns.add(entityManager.createTotalCount());
+                return createListSelectFrom(pageColumns);
+            },
+            Curso.class,
+            pageable,
+            conditions.build()
+        );
+        Flux<Tuple2<Curso, Long>> rows = entityManager
+            .bind(db.sql(select), pageable, conditions.getParameters())
+            .map((row, metadata) -> Tuples.of(process.apply(row, metadata), row.get(EntityManager.TOTAL_COUNT_ALIAS, Long.class)))
+            .all();
+        return entityManager.createPage(rows, pageable, countBy(criteria)).flatMap(page -> setAreas(page.getContent()).thenReturn(page));
+    }
+
+    @Override
+    public Mono<Long> countBy(CursoCriteria criteria) {
+        FilterConditionBuilder conditions = buildConditions(criteria);
+        String select = entityManager.createSelect(
+            COUNT_QUERY,
+            () -> Select.builder().select(Functions.count(Expressions.asterisk())).from(entityTable),
+            Curso.class,
+            (Pageable) null,
+            conditions.build()
+        );
+        return entityManager.bind(db.sql(select), null, conditions.getParameters()).map((row, metadata) -> row.get(0, Long.class)).one();
+    }
+
+    private FilterConditionBuilder buildConditions(CursoCriteria criteria) {
+        FilterConditionBuilder builder = new FilterConditionBuilder();
+        if (criteria != null) {
+            builder
+                .filter(entityTable.column("id"), criteria.getId())
+                .filter(entityTable.column("nome"), criteria.getNome())
+                .filter(entityTable.column("status"), criteria.getStatus())
+                .filter(entityTable.column("data_criacao"), criteria.getDataCriacao())
+                .filter(entityTable.column("data_inatividade"), criteria.getDataInatividade())
+                .filter(entityTable.column("area_id"), criteria.getAreaId());
+        }
+        return builder;
     }
 
     RowsFetchSpec<Curso> createQuery(Pageable pageable, Condition whereClause) {
+        return createQuery(pageable, whereClause, Map.of());
+    }
+
+    RowsFetchSpec<Curso> createQuery(Pageable pageable, Condition whereClause, Map<String, ?> parameters) {
+        String select = entityManager.createSelect(JOIN_QUERY, () -> createSelectFrom(createColumns()), Curso.class, pageable, whereClause);
+        return entityManager.bind(db.sql(select), pageable, parameters).map(process());
+    }
+
+    /**
+     * Creates a query of the curso columns only, without joining the area, see {@link #withAreas(Flux)}.
+     */
+    RowsFetchSpec<Curso> createListQuery(Pageable pageable, Condition whereClause, Map<String, ?> parameters) {
+        String select = entityManager.createSelect(LIST_QUERY, this::createListSelectFrom, Curso.class, pageable, whereClause);
+        return entityManager.bind(db.sql(select), pageable, parameters).map(processWithoutArea());
+    }
+
+    RowsFetchSpec<Curso> createKeysetQuery(Keyset keyset, Condition whereClause, Map<String, ?> parameters) {
+        String select = entityManager.createSelect(LIST_QUERY, this::createListSelectFrom, Curso.class, keyset, whereClause);
+        return entityManager.bind(db.sql(select), Curso.class, keyset, parameters).map(processWithoutArea());
+    }
+
+    /**
+     * Sets the areas of the given cursos from the {@link AreaCache}, instead of joining the area table.
+     */
+    private Flux<Curso> withAreas(Flux<Curso> cursos) {
+        return cursos.collectList().flatMapMany(list -> setAreas(list).thenMany(Flux.fromIterable(list)));
+    }
+
+    private Mono<Void> setAreas(List<Curso> cursos) {
+        Set<Long> areaIds = cursos.stream().map(Curso::getAreaId).filter(Objects::nonNull).collect(Collectors.toSet());
+        return areaCache
+            .getAll(areaIds)
+            .doOnNext(areas ->
+                cursos.forEach(curso -> {
+                    if (curso.getAreaId() != null) {
+                        curso.setArea(areas.get(curso.getAreaId()));
+                    }
+                })
+            )
+            .then();
+    }
+
+    private List<Expression> createColumns() {
         List<Expression> columns = CursoSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(AreaSqlHelper.getColumns(areaTable, "area"));
-        SelectFromAndJoinCondition selectFrom = Select
+        return columns;
+    }
+
+    private SelectFromAndJoin createListSelectFrom() {
+        return createListSelectFrom(CursoSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS));
+    }
+
+    private SelectFromAndJoin createListSelectFrom(List<Expression> columns) {
+        return Select.builder().select(columns).from(entityTable);
+    }
+
+    private SelectFromAndJoinCondition createSelectFrom(List<Expression> columns) {
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
             .leftOuterJoin(areaTable)
             .on(Column.create("area_id", entityTable))
             .equals(Column.create("id", areaTable));
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Curso.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
     }
 
     @Override
     public Flux<Curso> findAll() {
-        return findAllBy(null);
+        return findAllBy((CursoCriteria) null);
+    }
+
+    @Override
+    public Flux<Curso> findAllBy(CursoCriteria criteria) {
+        FilterConditionBuilder conditions = buildConditions(criteria);
+        String select = entityManager.createSelect(
+            JOIN_QUERY,
+            () -> createSelectFrom(createColumns()),
+            Curso.class,
+            (Pageable) null,
+            conditions.build()
+        );
+        return entityManager
+            .bind(db.sql(select), null, conditions.getParameters())
+            .filter(statement -> statement.fetchSize(EntityManager.STREAM_FETCH_SIZE))
+            .map(process())
+            .all();
     }
 
     @Override
     public Mono<Curso> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+        return createQuery(null, whereClause, Map.of("id", id)).one();
+    }
+
+    private BiFunction<Row, RowMetadata, Curso> processWithoutArea() {
+        return cursoMapper.compile("e");
+    }
+
+    private BiFunction<Row, RowMetadata, Curso> processSummary() {
+        return cursoMapper.compileSummary("e");
+    }
+
+    private BiFunction<Row, RowMetadata, Curso> process() {
+        BiFunction<Row, RowMetadata, Curso> cursoProcess = cursoMapper.compile("e");
+        BiFunction<Row, RowMetadata, Area> areaProcess = areaMapper.compile("area");
+        return (row, metadata) -> {
+            Curso entity = cursoProcess.apply(row, metadata);
+            entity.setArea(areaProcess.apply(row, metadata));
+            return entity;
+        };
+    }
+
+    @Override
+    public Flux<Curso> insertAll(List<Curso> cursos) {
+        Instant now = now();
+        cursos.forEach(curso -> curso.dataAtualizacao(now).setVersao(0L));
+        return entityManager.insertAll(Curso.class, cursos).concatWith(incrementTableVersion().then(Mono.empty()));
     }
 
-    private Curso process(Row row, RowMetadata metadata) {
-        Curso entity = cursoMapper.apply(row, "e");
-        entity.setArea(areaMapper.apply(row, "area"));
-        return entity;
+    @Override
+    public Flux<Integer> updateAll(List<Curso> cursos) {
+        Instant now = now();
+        cursos.forEach(curso -> curso.setDataAtualizacao(now));
+        return entityManager.updateAll(Curso.class, cursos).concatWith(incrementTableVersion().then(Mono.empty()));
     }
 
     @Override
     public <S extends Curso> Mono<S> save(S entity) {
-        return super.save(entity);
+        entity.setDataAtualizacao(now());
+        return super.save(entity).flatMap(saved -> incrementTableVersion().thenReturn(saved));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return super.deleteById(id).then(incrementTableVersion());
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return super.deleteAll().then(incrementTableVersion());
+    }
+
+    @Override
+    public Mono<Instant> findLastModifiedById(Long id) {
+        return db
+            .sql(LAST_MODIFIED_QUERY)
+            .bind("id", id)
+            .map((row, metadata) -> {
+                Instant cursoLastModified = columnConverter.fromRow(row, 0, Instant.class);
+                Instant areaLastModified = columnConverter.fromRow(row, 1, Instant.class);
+                return areaLastModified != null && areaLastModified.isAfter(cursoLastModified) ? areaLastModified : cursoLastModified;
+            })
+            .one();
+    }
+
+    @Override
+    public Mono<TableVersion> findTableVersion() {
+        return tableVersionRepository.find(TableVersionRepository.CURSO, TableVersionRepository.AREA);
+    }
+
+    /**
+     * Increments the version of the curso table after a write, in the transaction of the write.
+     */
+    private Mono<Void> incrementTableVersion() {
+        return tableVersionRepository.increment(TableVersionRepository.CURSO);
+    }
+
+    /**
+     * The modification date of the written cursos, truncated to the precision of the database.
+     */
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
     }
 }
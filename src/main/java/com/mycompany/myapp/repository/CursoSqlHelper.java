@@ -16,8 +16,22 @@ public class CursoSqlHelper {
         columns.add(Column.aliased("status", table, columnPrefix + "_status"));
         columns.add(Column.aliased("data_criacao", table, columnPrefix + "_data_criacao"));
         columns.add(Column.aliased("data_inatividade", table, columnPrefix + "_data_inatividade"));
+        columns.add(Column.aliased("data_atualizacao", table, columnPrefix + "_data_atualizacao"));
+        columns.add(Column.aliased("versao", table, columnPrefix + "_versao"));
 
         columns.add(Column.aliased("area_id", table, columnPrefix + "_area_id"));
         return columns;
     }
+
+    /**
+     * Get the columns of the summary of a curso, shown in the lists: its id, name, status and area.
+     */
+    public static List<Expression> getSummaryColumns(Table table, String columnPrefix) {
+        List<Expression> columns = new ArrayList<>();
+        columns.add(Column.aliased("id", table, columnPrefix + "_id"));
+        columns.add(Column.aliased("nome", table, columnPrefix + "_nome"));
+        columns.add(Column.aliased("status", table, columnPrefix + "_status"));
+        columns.add(Column.aliased("area_id", table, columnPrefix + "_area_id"));
+        return columns;
+    }
 }
@@ -1,35 +1,62 @@
 package com.mycompany.myapp.repository;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.core.ReactiveDataAccessStrategy;
 import org.springframework.data.r2dbc.core.StatementMapper;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
 import org.springframework.data.r2dbc.mapping.OutboundRow;
 import org.springframework.data.r2dbc.query.UpdateMapper;
 import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
 import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.sql.BindMarker;
+import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Expressions;
 import org.springframework.data.relational.core.sql.OrderByField;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectOrdered;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectWhere;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.SqlIdentifier;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.data.util.ClassTypeInformation;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
 import org.springframework.r2dbc.core.Parameter;
+import org.springframework.r2dbc.core.binding.BindMarkers;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
 /**
  * Helper class to create SQL selects based on the entity, paging parameters and criteria.
@@ -41,6 +68,70 @@ public class EntityManager {
     public static final String ENTITY_ALIAS = "e";
     public static final String ALIAS_PREFIX = "e_";
 
+    public static final String TOTAL_COUNT_ALIAS = "total_count";
+
+    /**
+     * Number of rows fetched per round trip when streaming a whole table, so the rows are pulled following the demand
+     * of the subscriber instead of being buffered by the driver.
+     */
+    public static final int STREAM_FETCH_SIZE = 256;
+
+    private static final String KEYSET_VALUE_MARKER = "keyset_value";
+    private static final String KEYSET_ID_MARKER = "keyset_id";
+    private static final String LIMIT_MARKER = "page_limit";
+    private static final String OFFSET_MARKER = "page_offset";
+
+    private static final String PAGED = "paged";
+    private static final String UNPAGED = "unpaged";
+    private static final String KEYSET_FIRST = "keyset-first";
+    private static final String KEYSET_NEXT = "keyset-next";
+
+    private static final int SELECT_CACHE_SIZE = 1000;
+
+    /**
+     * Key of a rendered select statement. The where condition is keyed by its string representation, which only holds
+     * the names of its bind markers, not their values.
+     */
+    private static final class SelectKey {
+
+        private final Class<?> entityType;
+        private final String queryName;
+        private final String paging;
+        private final Sort sort;
+        private final String where;
+
+        private SelectKey(Class<?> entityType, String queryName, String paging, Sort sort, Condition where) {
+            this.entityType = entityType;
+            this.queryName = queryName;
+            this.paging = paging;
+            this.sort = sort;
+            this.where = where != null ? where.toString() : null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SelectKey)) {
+                return false;
+            }
+            SelectKey other = (SelectKey) o;
+            return (
+                entityType.equals(other.entityType) &&
+                queryName.equals(other.queryName) &&
+                paging.equals(other.paging) &&
+                Objects.equals(sort, other.sort) &&
+                Objects.equals(where, other.where)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityType, queryName, paging, sort, where);
+        }
+    }
+
     public static class LinkTable {
 
         final String tableName;
@@ -61,12 +152,20 @@ public class EntityManager {
     private final UpdateMapper updateMapper;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final StatementMapper statementMapper;
+    private final R2dbcDialect dialect;
+    private final Cache<SelectKey, String> selectCache = Caffeine.newBuilder().maximumSize(SELECT_CACHE_SIZE).build();
 
-    public EntityManager(SqlRenderer sqlRenderer, UpdateMapper updateMapper, R2dbcEntityTemplate r2dbcEntityTemplate) {
+    public EntityManager(
+        SqlRenderer sqlRenderer,
+        UpdateMapper updateMapper,
+        R2dbcEntityTemplate r2dbcEntityTemplate,
+        R2dbcDialect dialect
+    ) {
         this.sqlRenderer = sqlRenderer;
         this.updateMapper = updateMapper;
         this.r2dbcEntityTemplate = r2dbcEntityTemplate;
         this.statementMapper = r2dbcEntityTemplate.getDataAccessStrategy().getStatementMapper();
+        this.dialect = dialect;
     }
 
     /**
@@ -133,6 +232,175 @@ public class EntityManager {
         }
     }
 
+    /**
+     * Creates an SQL select statement from the given fragment and pagination parameters, rendered once per query shape.
+     * <p>
+     * The rendered statements are cached by entity type, query name, sort, paging and where condition. The limit and the offset
+     * of the page are referenced through bind markers, see {@link #bind(GenericExecuteSpec, Pageable)}, so all the pages share
+     * the same statement, and the where condition must reference its values through bind markers as well.
+     * @param queryName the name of the select fragment, unique for the entity type.
+     * @param selectFrom creates the select fragment, only called when the statement is not cached yet.
+     * @param entityType the entity type which holds the table name.
+     * @param pageable page parameter, or null, if everything needs to be returned.
+     * @param where condition or null. The condition to apply as where clause.
+     * @return sql select statement
+     */
+    public String createSelect(
+        String queryName,
+        Supplier<? extends SelectWhere> selectFrom,
+        Class<?> entityType,
+        Pageable pageable,
+        Condition where
+    ) {
+        boolean paged = pageable != null && pageable.isPaged();
+        Sort sort = pageable != null ? pageable.getSort() : null;
+        SelectKey key = new SelectKey(entityType, queryName, paged ? PAGED : UNPAGED, sort, where);
+        return selectCache.get(
+            key,
+            k -> {
+                String select = createSelectImpl(where(selectFrom.get(), where), entityType, sort);
+                return paged ? select + " LIMIT :" + LIMIT_MARKER + " OFFSET :" + OFFSET_MARKER : select;
+            }
+        );
+    }
+
+    /**
+     * Creates an SQL select statement from the given fragment and keyset pagination parameters, rendered once per query shape.
+     * The values of the keyset and the page size are referenced through bind markers, see {@link #bind(GenericExecuteSpec, Class, Keyset)}.
+     * @param queryName the name of the select fragment, unique for the entity type.
+     * @param selectFrom creates the select fragment, only called when the statement is not cached yet.
+     * @param entityType the entity type which holds the table name.
+     * @param keyset keyset parameter.
+     * @param where condition or null. The condition to apply as where clause.
+     * @return sql select statement
+     */
+    public String createSelect(
+        String queryName,
+        Supplier<? extends SelectWhere> selectFrom,
+        Class<?> entityType,
+        Keyset keyset,
+        Condition where
+    ) {
+        Sort sort = createKeysetSort(keyset);
+        SelectKey key = new SelectKey(entityType, queryName, keyset.isFirst() ? KEYSET_FIRST : KEYSET_NEXT, sort, where);
+        return selectCache.get(
+            key,
+            k -> {
+                Condition condition = createKeysetCondition(entityType, keyset, where);
+                return createSelectImpl(where(selectFrom.get(), condition), entityType, sort) + " LIMIT :" + LIMIT_MARKER;
+            }
+        );
+    }
+
+    /**
+     * Binds the limit and the offset of the page to a statement created by {@link #createSelect(String, Supplier, Class, Pageable, Condition)}.
+     * @param spec the statement to bind the values to.
+     * @param pageable page parameter, or null.
+     * @return the statement with the bound values.
+     */
+    public GenericExecuteSpec bind(GenericExecuteSpec spec, Pageable pageable) {
+        return bind(spec, pageable, Map.of());
+    }
+
+    /**
+     * Binds the limit and the offset of the page, and the values of the where condition, to a statement created by
+     * {@link #createSelect(String, Supplier, Class, Pageable, Condition)}.
+     * @param spec the statement to bind the values to.
+     * @param pageable page parameter, or null.
+     * @param parameters the values of the bind markers of the where condition, by name.
+     * @return the statement with the bound values.
+     */
+    public GenericExecuteSpec bind(GenericExecuteSpec spec, Pageable pageable, Map<String, ?> parameters) {
+        for (Entry<String, ?> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), writeValue(parameter.getValue()));
+        }
+        if (pageable == null || pageable.isUnpaged()) {
+            return spec;
+        }
+        return spec.bind(LIMIT_MARKER, pageable.getPageSize()).bind(OFFSET_MARKER, pageable.getOffset());
+    }
+
+    /**
+     * Binds the values of the keyset to a statement created by {@link #createSelect(String, Supplier, Class, Keyset, Condition)}.
+     * @param spec the statement to bind the values to.
+     * @param entityType the entity type which holds the sort property.
+     * @param keyset keyset parameter.
+     * @return the statement with the bound values.
+     */
+    public GenericExecuteSpec bind(GenericExecuteSpec spec, Class<?> entityType, Keyset keyset) {
+        return bind(spec, entityType, keyset, Map.of());
+    }
+
+    /**
+     * Binds the values of the keyset, and the values of the where condition, to a statement created by
+     * {@link #createSelect(String, Supplier, Class, Keyset, Condition)}.
+     * @param spec the statement to bind the values to.
+     * @param entityType the entity type which holds the sort property.
+     * @param keyset keyset parameter.
+     * @param parameters the values of the bind markers of the where condition, by name.
+     * @return the statement with the bound values.
+     */
+    public GenericExecuteSpec bind(GenericExecuteSpec spec, Class<?> entityType, Keyset keyset, Map<String, ?> parameters) {
+        for (Entry<String, ?> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), writeValue(parameter.getValue()));
+        }
+        spec = spec.bind(LIMIT_MARKER, keyset.getSize());
+        if (keyset.isFirst()) {
+            return spec;
+        }
+        RelationalPersistentProperty property = getKeysetProperty(entityType, keyset);
+        Object lastValue = keyset.readLastValue(property.getType());
+        return spec
+            .bind(KEYSET_VALUE_MARKER, r2dbcEntityTemplate.getConverter().writeValue(lastValue, ClassTypeInformation.OBJECT))
+            .bind(KEYSET_ID_MARKER, keyset.getLastId());
+    }
+
+    /**
+     * Creates a column holding the total number of rows matching the select, regardless of its limit and offset.
+     * It is computed with a window function, so a page and its total are fetched in a single query.
+     * @return the total count column, aliased as {@link #TOTAL_COUNT_ALIAS}.
+     */
+    public Expression createTotalCount() {
+        return Expressions.just("COUNT(*) OVER () AS " + TOTAL_COUNT_ALIAS);
+    }
+
+    /**
+     * Creates an SQL expression of the current date of the database plus a number of seconds, so that the nodes of a cluster
+     * compare the dates of a single clock.
+     * @param secondsParameter the name of the parameter holding the number of seconds.
+     * @return the SQL expression, of a timestamp without time zone.
+     */
+    public String createLocalTimestampPlusSeconds(String secondsParameter) {
+        // H2 and PostgreSQL have no common syntax for an interval of a parameterized length
+        if (dialect instanceof H2Dialect) {
+            return "DATEADD(SECOND, CAST(:" + secondsParameter + " AS INTEGER), LOCALTIMESTAMP)";
+        }
+        return "LOCALTIMESTAMP + CAST(:" + secondsParameter + " AS INTEGER) * INTERVAL '1 second'";
+    }
+
+    /**
+     * Collects the rows of a select, created with a {@link #createTotalCount()} column, into a page.
+     * @param <T> the type of the entity.
+     * @param rows the entities and the total count read from each row.
+     * @param pageable page parameter.
+     * @param count the count query, only subscribed when the page is empty and is not the first one, as there is no row to read the total from.
+     * @return the page of entities.
+     */
+    public <T> Mono<Page<T>> createPage(Flux<Tuple2<T, Long>> rows, Pageable pageable, Mono<Long> count) {
+        return rows
+            .collectList()
+            .flatMap(list -> {
+                List<T> content = list.stream().map(Tuple2::getT1).collect(Collectors.toList());
+                Mono<Long> total;
+                if (!list.isEmpty()) {
+                    total = Mono.just(list.get(0).getT2());
+                } else {
+                    total = pageable.getOffset() == 0 ? Mono.just(0L) : count;
+                }
+                return total.map(totalCount -> new PageImpl<>(content, pageable, totalCount));
+            });
+    }
+
     /**
      * Generate an actual SQL from the given {@link Select}.
      * @param select a representation of a select statement.
@@ -172,30 +440,201 @@ public class EntityManager {
     }
 
     /**
-     * Updates the table, which links the entity with the referred entities.
+     * Inserts the given entities with a single batched statement, one binding per entity - and sets their generated ids.
+     * @param <S> the type of the persisted entities.
+     * @param entityType the entity type which holds the table name.
+     * @param entities the entities to be inserted into the database, without id.
+     * @return the persisted entities, in the given order.
+     */
+    public <S> Flux<S> insertAll(Class<S> entityType, List<S> entities) {
+        if (entities.isEmpty()) {
+            return Flux.empty();
+        }
+        RelationalPersistentEntity<S> entity = getRequiredPersistentEntity(entityType);
+        RelationalPersistentProperty idProperty = entity.getRequiredIdProperty();
+        ReactiveDataAccessStrategy dataAccessStrategy = r2dbcEntityTemplate.getDataAccessStrategy();
+        List<OutboundRow> rows = entities.stream().map(dataAccessStrategy::getOutboundRow).collect(Collectors.toList());
+        List<SqlIdentifier> columns = rows
+            .get(0)
+            .keySet()
+            .stream()
+            .filter(column -> !column.equals(idProperty.getColumnName()))
+            .collect(Collectors.toList());
+
+        BindMarkers bindMarkers = dialect.getBindMarkersFactory().create();
+        String sql =
+            "INSERT INTO " +
+            toSql(entity.getTableName()) +
+            " (" +
+            columns.stream().map(this::toSql).collect(Collectors.joining(", ")) +
+            ") VALUES (" +
+            columns.stream().map(column -> bindMarkers.next().getPlaceholder()).collect(Collectors.joining(", ")) +
+            ")";
+
+        Flux<Object> ids = r2dbcEntityTemplate
+            .getDatabaseClient()
+            .inConnectionMany(connection -> {
+                Statement statement = connection
+                    .createStatement(sql)
+                    .returnGeneratedValues(dataAccessStrategy.renderForGeneratedValues(idProperty.getColumnName()));
+                for (int i = 0; i < rows.size(); i++) {
+                    if (i > 0) {
+                        statement.add();
+                    }
+                    bind(statement, 0, rows.get(i), columns);
+                }
+                return Flux.from(statement.execute()).concatMap(result -> result.map((row, metadata) -> row.get(0)));
+            });
+
+        return Flux
+            .fromIterable(entities)
+            .zipWith(
+                ids,
+                (S persisted, Object id) -> {
+                    new ConvertingPropertyAccessor<>(entity.getPropertyAccessor(persisted), getConversionService())
+                        .setProperty(idProperty, id);
+                    return persisted;
+                }
+            );
+    }
+
+    /**
+     * Updates the given entities with a single batched statement, one binding per entity.
+     * <p>
+     * If the entity has a {@link org.springframework.data.annotation.Version} property, its version is incremented, and the
+     * entities are only updated if their row still has the same version: their version is required.
+     * @param <S> the type of the persisted entities.
+     * @param entityType the entity type which holds the table name.
+     * @param entities the entities to be updated, with their id.
+     * @return the number of updated rows of each entity, in the given order: 0 if there is no row with its id, or with its version.
+     */
+    public <S> Flux<Integer> updateAll(Class<S> entityType, List<S> entities) {
+        if (entities.isEmpty()) {
+            return Flux.empty();
+        }
+        RelationalPersistentEntity<S> entity = getRequiredPersistentEntity(entityType);
+        SqlIdentifier idColumn = entity.getRequiredIdProperty().getColumnName();
+        SqlIdentifier versionColumn = entity.hasVersionProperty() ? entity.getRequiredVersionProperty().getColumnName() : null;
+        ReactiveDataAccessStrategy dataAccessStrategy = r2dbcEntityTemplate.getDataAccessStrategy();
+        List<OutboundRow> rows = entities.stream().map(dataAccessStrategy::getOutboundRow).collect(Collectors.toList());
+        List<SqlIdentifier> columns = rows
+            .get(0)
+            .keySet()
+            .stream()
+            .filter(column -> !column.equals(idColumn) && !column.equals(versionColumn))
+            .collect(Collectors.toList());
+
+        BindMarkers bindMarkers = dialect.getBindMarkersFactory().create();
+        StringBuilder sql = new StringBuilder("UPDATE ")
+            .append(toSql(entity.getTableName()))
+            .append(" SET ")
+            .append(
+                columns
+                    .stream()
+                    .map(column -> toSql(column) + " = " + bindMarkers.next().getPlaceholder())
+                    .collect(Collectors.joining(", "))
+            );
+        if (versionColumn != null) {
+            sql.append(", ").append(toSql(versionColumn)).append(" = ").append(toSql(versionColumn)).append(" + 1");
+        }
+        sql.append(" WHERE ").append(toSql(idColumn)).append(" = ").append(bindMarkers.next().getPlaceholder());
+        if (versionColumn != null) {
+            sql.append(" AND ").append(toSql(versionColumn)).append(" = ").append(bindMarkers.next().getPlaceholder());
+        }
+        List<SqlIdentifier> keyColumns = versionColumn != null ? List.of(idColumn, versionColumn) : List.of(idColumn);
+
+        return r2dbcEntityTemplate
+            .getDatabaseClient()
+            .inConnectionMany(connection -> {
+                Statement statement = connection.createStatement(sql.toString());
+                for (int i = 0; i < rows.size(); i++) {
+                    if (i > 0) {
+                        statement.add();
+                    }
+                    int index = bind(statement, 0, rows.get(i), columns);
+                    bind(statement, index, rows.get(i), keyColumns);
+                }
+                return Flux.from(statement.execute()).concatMap(Result::getRowsUpdated);
+            });
+    }
+
+    /**
+     * Updates the table, which links the entity with the referred entities: the links are deleted, and inserted again by a
+     * single multi-row statement.
      * @param table describes the link table, it contains a table name, the column name for the id, and for the referred entity id.
      * @param entityId the id of the entity, for which the links are created.
      * @param referencedIds the id of the referred entities.
      * @return the number of inserted rows.
      */
     public Mono<Integer> updateLinkTable(LinkTable table, Object entityId, Stream<?> referencedIds) {
-        return deleteFromLinkTable(table, entityId)
-            .then(
-                Flux
-                    .fromStream(referencedIds)
-                    .flatMap((Object referenceId) -> {
-                        StatementMapper.InsertSpec insert = r2dbcEntityTemplate
-                            .getDataAccessStrategy()
-                            .getStatementMapper()
-                            .createInsert(table.tableName)
-                            .withColumn(table.idColumn, Parameter.from(entityId))
-                            .withColumn(table.referenceColumn, Parameter.from(referenceId));
-
-                        return r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(insert)).fetch().rowsUpdated();
-                    })
-                    .collectList()
-                    .map((List<Integer> updates) -> updates.stream().reduce(Integer::sum).orElse(0))
-            );
+        List<?> ids = referencedIds.collect(Collectors.toList());
+        return deleteFromLinkTable(table, entityId).then(insertIntoLinkTable(table, entityId, ids));
+    }
+
+    /**
+     * Updates the table, which links the entity with the referred entities, by only deleting the links to the entities which
+     * are not referred anymore, and inserting the links to the newly referred ones: a select, then at most a delete and a
+     * multi-row insert, none when the links did not change.
+     * @param table describes the link table, it contains a table name, the column name for the id, and for the referred entity id.
+     * @param entityId the id of the entity, for which the links are created.
+     * @param referencedIds the id of the referred entities.
+     * @return the number of deleted and inserted rows.
+     */
+    public Mono<Integer> updateLinkTableChanges(LinkTable table, Object entityId, Stream<?> referencedIds) {
+        Set<Object> referenced = referencedIds.map(this::writeValue).collect(Collectors.toCollection(LinkedHashSet::new));
+        Class<?> referenceType = referenced.isEmpty() ? Object.class : referenced.iterator().next().getClass();
+        String select =
+            "SELECT " + toSql(table.referenceColumn) + " FROM " + toSql(table.tableName) + " WHERE " + toSql(table.idColumn) + " = :id";
+        return r2dbcEntityTemplate
+            .getDatabaseClient()
+            .sql(select)
+            .bind("id", writeValue(entityId))
+            .map(row -> (Object) row.get(0, referenceType))
+            .all()
+            .collect(Collectors.toSet())
+            .flatMap(existing -> {
+                List<Object> removed = existing.stream().filter(id -> !referenced.contains(id)).collect(Collectors.toList());
+                List<Object> added = referenced.stream().filter(id -> !existing.contains(id)).collect(Collectors.toList());
+                return deleteFromLinkTable(table, entityId, removed)
+                    .flatMap(deleted -> insertIntoLinkTable(table, entityId, added).map(inserted -> deleted + inserted));
+            });
+    }
+
+    /**
+     * Inserts the links of the entity with the referred entities, by a single multi-row statement.
+     * @param table describes the link table, it contains a table name, the column name for the id, and for the referred entity id.
+     * @param entityId the id of the entity, for which the links are created.
+     * @param referencedIds the id of the referred entities, not linked yet.
+     * @return the number of inserted rows.
+     */
+    public Mono<Integer> insertIntoLinkTable(LinkTable table, Object entityId, Collection<?> referencedIds) {
+        if (referencedIds.isEmpty()) {
+            return Mono.just(0);
+        }
+        BindMarkers bindMarkers = dialect.getBindMarkersFactory().create();
+        StringBuilder sql = new StringBuilder("INSERT INTO ")
+            .append(toSql(table.tableName))
+            .append(" (")
+            .append(toSql(table.idColumn))
+            .append(", ")
+            .append(toSql(table.referenceColumn))
+            .append(") VALUES ");
+        List<Object> values = new ArrayList<>(referencedIds.size() * 2);
+        for (Object referenceId : referencedIds) {
+            if (!values.isEmpty()) {
+                sql.append(", ");
+            }
+            String idMarker = bindMarkers.next().getPlaceholder();
+            String referenceMarker = bindMarkers.next().getPlaceholder();
+            sql.append("(").append(idMarker).append(", ").append(referenceMarker).append(")");
+            values.add(writeValue(entityId));
+            values.add(writeValue(referenceId));
+        }
+        GenericExecuteSpec spec = r2dbcEntityTemplate.getDatabaseClient().sql(sql.toString());
+        for (int i = 0; i < values.size(); i++) {
+            spec = spec.bind(i, values.get(i));
+        }
+        return spec.fetch().rowsUpdated();
     }
 
     public Mono<Void> deleteFromLinkTable(LinkTable table, Object entityId) {
@@ -208,6 +647,109 @@ public class EntityManager {
         return r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(deleteSpec)).then();
     }
 
+    /**
+     * Deletes the links of the entity with some of the referred entities, by a single statement.
+     * @param table describes the link table, it contains a table name, the column name for the id, and for the referred entity id.
+     * @param entityId the id of the entity, for which the links are deleted.
+     * @param referencedIds the id of the referred entities, to unlink.
+     * @return the number of deleted rows.
+     */
+    public Mono<Integer> deleteFromLinkTable(LinkTable table, Object entityId, Collection<?> referencedIds) {
+        Assert.notNull(entityId, "entityId is null");
+        if (referencedIds.isEmpty()) {
+            return Mono.just(0);
+        }
+        String delete =
+            "DELETE FROM " +
+            toSql(table.tableName) +
+            " WHERE " +
+            toSql(table.idColumn) +
+            " = :id AND " +
+            toSql(table.referenceColumn) +
+            " IN (:referencedIds)";
+        return r2dbcEntityTemplate
+            .getDatabaseClient()
+            .sql(delete)
+            .bind("id", writeValue(entityId))
+            .bind("referencedIds", writeValue(referencedIds))
+            .fetch()
+            .rowsUpdated();
+    }
+
+    private String toSql(String identifier) {
+        return toSql(SqlIdentifier.unquoted(identifier));
+    }
+
+    private int bind(Statement statement, int startIndex, OutboundRow row, List<SqlIdentifier> columns) {
+        int index = startIndex;
+        for (SqlIdentifier column : columns) {
+            Parameter parameter = row.get(column);
+            if (parameter.hasValue()) {
+                statement.bind(index++, parameter.getValue());
+            } else {
+                statement.bindNull(index++, parameter.getType());
+            }
+        }
+        return index;
+    }
+
+    private String toSql(SqlIdentifier identifier) {
+        return identifier.toSql(dialect.getIdentifierProcessing());
+    }
+
+    /**
+     * Converts a bind value to its database type, such as an {@link java.time.Instant} to a {@link java.time.LocalDateTime} or an
+     * enum to its name - element by element for a collection, which is expanded to a list of bind markers.
+     */
+    private Object writeValue(Object value) {
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).stream().map(this::writeValue).collect(Collectors.toList());
+        }
+        return r2dbcEntityTemplate.getConverter().writeValue(value, ClassTypeInformation.OBJECT);
+    }
+
+    private ConversionService getConversionService() {
+        return r2dbcEntityTemplate.getConverter().getConversionService();
+    }
+
+    private Condition createKeysetCondition(Class<?> entityType, Keyset keyset, Condition where) {
+        if (keyset.isFirst()) {
+            return where;
+        }
+        RelationalPersistentEntity<?> entity = getRequiredPersistentEntity(entityType);
+        Table table = Table.create(entity.getTableName()).as(EntityManager.ENTITY_ALIAS);
+        Column sortColumn = Column.create(getKeysetProperty(entityType, keyset).getColumnName(), table);
+        Column idColumn = Column.create(entity.getRequiredIdProperty().getColumnName(), table);
+        BindMarker lastValue = SQL.bindMarker(":" + KEYSET_VALUE_MARKER);
+        BindMarker lastId = SQL.bindMarker(":" + KEYSET_ID_MARKER);
+
+        // (sort > last) or (sort = last and id > lastId), reversed for a descending order
+        Condition seek = keyset.getOrder().isAscending()
+            ? Conditions
+                .isGreater(sortColumn, lastValue)
+                .or(Conditions.nest(Conditions.isEqual(sortColumn, lastValue).and(Conditions.isGreater(idColumn, lastId))))
+            : Conditions
+                .isLess(sortColumn, lastValue)
+                .or(Conditions.nest(Conditions.isEqual(sortColumn, lastValue).and(Conditions.isLess(idColumn, lastId))));
+        return where != null ? Conditions.nest(where).and(Conditions.nest(seek)) : seek;
+    }
+
+    private Sort createKeysetSort(Keyset keyset) {
+        Sort.Order order = keyset.getOrder();
+        if ("id".equals(order.getProperty())) {
+            return Sort.by(order);
+        }
+        return Sort.by(order, new Sort.Order(order.getDirection(), "id"));
+    }
+
+    private RelationalPersistentProperty getKeysetProperty(Class<?> entityType, Keyset keyset) {
+        return getRequiredPersistentEntity(entityType).getRequiredPersistentProperty(keyset.getOrder().getProperty());
+    }
+
+    private static SelectOrdered where(SelectWhere selectFrom, Condition where) {
+        return where != null ? selectFrom.where(where) : selectFrom;
+    }
+
     private String createSelectImpl(SelectOrdered selectFrom, Class<?> entityType, Sort sortParameter) {
         if (sortParameter != null && sortParameter.isSorted()) {
             RelationalPersistentEntity<?> entity = getPersistentEntity(entityType);
@@ -224,6 +766,11 @@ public class EntityManager {
         return r2dbcEntityTemplate.getConverter().getMappingContext().getPersistentEntity(entityType);
     }
 
+    @SuppressWarnings("unchecked")
+    private <T> RelationalPersistentEntity<T> getRequiredPersistentEntity(Class<T> entityType) {
+        return (RelationalPersistentEntity<T>) r2dbcEntityTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(entityType);
+    }
+
     private static Collection<? extends OrderByField> createOrderByFields(Table table, Sort sortToUse) {
         List<OrderByField> fields = new ArrayList<>();
 
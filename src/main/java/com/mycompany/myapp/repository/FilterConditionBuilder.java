@@ -0,0 +1,156 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.criteria.PrefixStringFilter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.relational.core.sql.Column;
+import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.IdentifierProcessing;
+import org.springframework.data.relational.core.sql.SQL;
+import org.springframework.data.relational.core.sql.SimpleFunction;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Translates the {@link Filter}s of a criteria into a where {@link Condition}.
+ * <p>
+ * The filter values are referenced through named bind markers, named after the column and the operation, so the select is
+ * rendered once per combination of filters, see {@link EntityManager#createSelect(String, Supplier, Class, Pageable, Condition)}.
+ * The values are bound with {@link EntityManager#bind(org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec, Pageable, Map)}.
+ */
+public class FilterConditionBuilder {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final List<Condition> conditions = new ArrayList<>();
+
+    private final Map<String, Object> parameters = new HashMap<>();
+
+    /**
+     * Adds the conditions of a filter on a column.
+     * @param column the filtered column.
+     * @param filter the filter, or null.
+     * @param <T> the type of the column.
+     * @return this builder.
+     */
+    public <T> FilterConditionBuilder filter(Column column, Filter<T> filter) {
+        if (filter == null) {
+            return this;
+        }
+        if (filter.getEquals() != null) {
+            conditions.add(column.isEqualTo(marker(column, "eq", filter.getEquals())));
+        }
+        if (filter.getNotEquals() != null) {
+            conditions.add(column.isNotEqualTo(marker(column, "ne", filter.getNotEquals())));
+        }
+        if (filter.getSpecified() != null) {
+            conditions.add(filter.getSpecified() ? column.isNotNull() : column.isNull());
+        }
+        if (filter.getIn() != null) {
+            conditions.add(filter.getIn().isEmpty() ? Conditions.just("1 = 0") : column.in(marker(column, "in", filter.getIn())));
+        }
+        if (filter.getNotIn() != null && !filter.getNotIn().isEmpty()) {
+            conditions.add(column.notIn(marker(column, "not_in", filter.getNotIn())));
+        }
+        return this;
+    }
+
+    /**
+     * Adds the conditions of a range filter on a column.
+     * @param column the filtered column.
+     * @param filter the filter, or null.
+     * @param <T> the type of the column.
+     * @return this builder.
+     */
+    public <T extends Comparable<? super T>> FilterConditionBuilder filter(Column column, RangeFilter<T> filter) {
+        if (filter == null) {
+            return this;
+        }
+        filter(column, (Filter<T>) filter);
+        if (filter.getGreaterThan() != null) {
+            conditions.add(column.isGreater(marker(column, "gt", filter.getGreaterThan())));
+        }
+        if (filter.getGreaterThanOrEqual() != null) {
+            conditions.add(column.isGreaterOrEqualTo(marker(column, "ge", filter.getGreaterThanOrEqual())));
+        }
+        if (filter.getLessThan() != null) {
+            conditions.add(column.isLess(marker(column, "lt", filter.getLessThan())));
+        }
+        if (filter.getLessThanOrEqual() != null) {
+            conditions.add(column.isLessOrEqualTo(marker(column, "le", filter.getLessThanOrEqual())));
+        }
+        return this;
+    }
+
+    /**
+     * Adds the conditions of a string filter on a column. The {@code contains}, {@code doesNotContain} and {@code startsWith}
+     * conditions ignore the case: the latter can use an index on the lower case column.
+     * @param column the filtered column.
+     * @param filter the filter, or null.
+     * @return this builder.
+     */
+    public FilterConditionBuilder filter(Column column, StringFilter filter) {
+        if (filter == null) {
+            return this;
+        }
+        filter(column, (Filter<String>) filter);
+        Expression lowerColumn = SimpleFunction.create("lower", List.of(column));
+        if (filter.getContains() != null) {
+            conditions.add(Conditions.like(lowerColumn, marker(column, "contains", "%" + toLikePattern(filter.getContains()) + "%")));
+        }
+        if (filter.getDoesNotContain() != null) {
+            conditions.add(
+                Conditions.like(lowerColumn, marker(column, "not_contains", "%" + toLikePattern(filter.getDoesNotContain()) + "%")).not()
+            );
+        }
+        if (filter instanceof PrefixStringFilter && ((PrefixStringFilter) filter).getStartsWith() != null) {
+            String startsWith = ((PrefixStringFilter) filter).getStartsWith();
+            conditions.add(Conditions.like(lowerColumn, marker(column, "starts_with", toLikePattern(startsWith) + "%")));
+        }
+        return this;
+    }
+
+    /**
+     * Builds the where condition, combining the conditions of all the filters.
+     * @return the condition, or null if no filter is set.
+     */
+    public Condition build() {
+        return conditions.stream().reduce(Condition::and).orElse(null);
+    }
+
+    /**
+     * Get the values of the bind markers of the condition.
+     * @return the values by bind marker name.
+     */
+    public Map<String, Object> getParameters() {
+        return parameters;
+    }
+
+    private Expression marker(Column column, String operation, Object value) {
+        String name = "filter_" + column.getName().toSql(IdentifierProcessing.NONE) + "_" + operation;
+        parameters.put(name, value);
+        return SQL.bindMarker(":" + name);
+    }
+
+    /**
+     * Converts a value to lower case and escapes its {@code LIKE} wildcards, to match it literally.
+     */
+    static String toLikePattern(String value) {
+        StringBuilder pattern = new StringBuilder(value.length());
+        for (char c : value.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.toString();
+    }
+}
@@ -0,0 +1,108 @@
+package com.mycompany.myapp.repository;
+
+import java.time.Duration;
+import java.util.UUID;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Locks shared by the nodes of the cluster, for the scheduled jobs which must run on a single node at a time.
+ * <p>
+ * A lock is a row of the {@code job_lock} table, held by a node until a date: it is released by the node when the job
+ * completes, or expires when the node stopped before. The dates are those of the database, the clocks of the nodes being
+ * possibly out of sync.
+ */
+@Repository
+public class JobLockRepository {
+
+    private final DatabaseClient db;
+
+    private final String node = UUID.randomUUID().toString();
+
+    private final String lock;
+
+    private final String insert;
+
+    private final String extendLock;
+
+    public JobLockRepository(DatabaseClient db, EntityManager entityManager) {
+        this.db = db;
+        String lockedUntil = entityManager.createLocalTimestampPlusSeconds("lockAtMostFor");
+        this.lock =
+            "UPDATE job_lock SET locked_until = " +
+            lockedUntil +
+            ", locked_by = :lockedBy WHERE name = :name AND locked_until <= LOCALTIMESTAMP";
+        this.insert = "INSERT INTO job_lock (name, locked_until, locked_by) VALUES (:name, " + lockedUntil + ", :lockedBy)";
+        this.extendLock =
+            "UPDATE job_lock SET locked_until = " +
+            lockedUntil +
+            " WHERE name = :name AND locked_by = :lockedBy AND locked_until > LOCALTIMESTAMP";
+    }
+
+    /**
+     * Acquire a lock, unless it is held by a node.
+     *
+     * @param name the name of the lock.
+     * @param lockAtMostFor the time after which the lock expires.
+     * @return true if the lock is acquired.
+     */
+    public Mono<Boolean> tryLock(String name, Duration lockAtMostFor) {
+        return db
+            .sql(lock)
+            .bind("lockAtMostFor", (int) lockAtMostFor.toSeconds())
+            .bind("lockedBy", node)
+            .bind("name", name)
+            .fetch()
+            .rowsUpdated()
+            .flatMap(updated -> updated > 0 ? Mono.just(true) : insert(name, lockAtMostFor));
+    }
+
+    /**
+     * Create a lock on its first acquisition: a node which creates it concurrently fails on the primary key.
+     */
+    private Mono<Boolean> insert(String name, Duration lockAtMostFor) {
+        return db
+            .sql(insert)
+            .bind("name", name)
+            .bind("lockAtMostFor", (int) lockAtMostFor.toSeconds())
+            .bind("lockedBy", node)
+            .fetch()
+            .rowsUpdated()
+            .map(inserted -> inserted > 0)
+            .onErrorReturn(DataIntegrityViolationException.class, false);
+    }
+
+    /**
+     * Extend a lock held by this node, for a job which runs longer than a lease.
+     *
+     * @param name the name of the lock.
+     * @param lockAtMostFor the time from now after which the lock expires.
+     * @return true if the lock is extended, false if it expired, and could have been acquired by another node.
+     */
+    public Mono<Boolean> extendLock(String name, Duration lockAtMostFor) {
+        return db
+            .sql(extendLock)
+            .bind("lockAtMostFor", (int) lockAtMostFor.toSeconds())
+            .bind("name", name)
+            .bind("lockedBy", node)
+            .fetch()
+            .rowsUpdated()
+            .map(updated -> updated > 0);
+    }
+
+    /**
+     * Release a lock held by this node.
+     *
+     * @param name the name of the lock.
+     * @return completes when the lock is released.
+     */
+    public Mono<Void> unlock(String name) {
+        return db
+            .sql("UPDATE job_lock SET locked_until = LOCALTIMESTAMP WHERE name = :name AND locked_by = :lockedBy")
+            .bind("name", name)
+            .bind("lockedBy", node)
+            .then();
+    }
+}
@@ -0,0 +1,122 @@
+package com.mycompany.myapp.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.Assert;
+
+/**
+ * Keyset (seek) pagination parameters: the sort order, the page size, and the position of the last row of the
+ * previous page, given by the value of its sort property and its id.
+ * <p>
+ * A keyset can be exchanged with clients as an opaque continuation token, see {@link #encode()} and {@link #decode(String, int)}.
+ */
+public final class Keyset {
+
+    private static final String SEPARATOR = ",";
+
+    private final Sort.Order order;
+    private final int size;
+    private final String lastValue;
+    private final Long lastId;
+
+    private Keyset(Sort.Order order, int size, String lastValue, Long lastId) {
+        Assert.notNull(order, "order is null");
+        Assert.isTrue(size > 0, "size must be greater than zero");
+        this.order = order;
+        this.size = size;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+
+    /**
+     * Creates the keyset of the first page.
+     * @param order the sort order, on a single property.
+     * @param size the page size.
+     * @return the keyset of the first page.
+     */
+    public static Keyset first(Sort.Order order, int size) {
+        return new Keyset(order, size, null, null);
+    }
+
+    /**
+     * Creates the keyset of the page following the given row.
+     * @param lastValue the value of the sort property of the last row, as a string.
+     * @param lastId the id of the last row.
+     * @return the keyset of the next page.
+     */
+    public Keyset next(String lastValue, Long lastId) {
+        Assert.notNull(lastValue, "lastValue is null");
+        Assert.notNull(lastId, "lastId is null");
+        return new Keyset(order, size, lastValue, lastId);
+    }
+
+    /**
+     * Decodes a continuation token created by {@link #encode()}.
+     * @param token the continuation token.
+     * @param size the page size.
+     * @return the decoded keyset.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static Keyset decode(String token, int size) {
+        String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = decoded.split(SEPARATOR, 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed continuation token");
+        }
+        Sort.Order order = new Sort.Order(Sort.Direction.fromString(parts[1]), parts[0]);
+        return new Keyset(order, size, parts[3], Long.valueOf(parts[2]));
+    }
+
+    /**
+     * Encodes this keyset as an opaque, URL safe continuation token.
+     * @return the continuation token.
+     */
+    public String encode() {
+        Assert.state(!isFirst(), "the first page has no continuation token");
+        String raw = String.join(SEPARATOR, order.getProperty(), order.getDirection().name(), lastId.toString(), lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    public Sort.Order getOrder() {
+        return order;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public String getLastValue() {
+        return lastValue;
+    }
+
+    /**
+     * Reads the value of the sort property of the last row of the previous page.
+     * @param type the type of the sort property.
+     * @return the value, converted to the type.
+     * @throws IllegalArgumentException if the value cannot be converted to the type.
+     */
+    public Object readLastValue(Class<?> type) {
+        Assert.state(!isFirst(), "the first page has no last value");
+        try {
+            if (Instant.class.equals(type)) {
+                return Instant.parse(lastValue);
+            }
+            return DefaultConversionService.getSharedInstance().convert(lastValue, type);
+        } catch (DateTimeParseException | ConversionException e) {
+            throw new IllegalArgumentException("Invalid value of the sort property", e);
+        }
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+}
@@ -0,0 +1,102 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.MailOutbox;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data R2DBC repository for the {@link MailOutbox} entity.
+ */
+@Repository
+public interface MailOutboxRepository extends R2dbcRepository<MailOutbox, Long>, MailOutboxRepositoryInternal {}
+
+interface MailOutboxRepositoryInternal {
+    /**
+     * Claim the oldest mails of the outbox due for an attempt, skipping the ones locked by other transactions, so that several
+     * nodes send different mails in parallel. Their attempts are incremented, and their next attempt is postponed by the lease,
+     * so that they are claimed again if they are neither sent nor retried before. Must be called in a transaction.
+     *
+     * @param size the maximum number of mails.
+     * @param lease the time after which the mails are claimed again.
+     * @param maxAttempts the number of attempts after which the mails are left in the outbox.
+     * @return the claimed mails, with their incremented attempts.
+     */
+    Flux<MailOutbox> claimNext(int size, Duration lease, int maxAttempts);
+
+    /**
+     * Postpone the next attempt to send a mail.
+     *
+     * @param id the id of the mail.
+     * @param backoff the time before the next attempt.
+     * @return completes when the mail is updated.
+     */
+    Mono<Void> retryLater(Long id, Duration backoff);
+}
+
+class MailOutboxRepositoryInternalImpl implements MailOutboxRepositoryInternal {
+
+    private final DatabaseClient db;
+    private final R2dbcConverter r2dbcConverter;
+    private final String selectForUpdate;
+    private final String claim;
+    private final String retryLater;
+
+    public MailOutboxRepositoryInternalImpl(
+        DatabaseClient db,
+        R2dbcConverter r2dbcConverter,
+        R2dbcDialect dialect,
+        EntityManager entityManager
+    ) {
+        this.db = db;
+        this.r2dbcConverter = r2dbcConverter;
+        // H2 locks the rows, but cannot skip the locked ones
+        boolean skipLocked = dialect instanceof PostgresDialect && !(dialect instanceof H2Dialect);
+        this.selectForUpdate =
+            "SELECT * FROM mail_outbox WHERE next_attempt_at <= LOCALTIMESTAMP AND attempts < :maxAttempts ORDER BY id LIMIT :size " +
+            "FOR UPDATE" +
+            (skipLocked ? " SKIP LOCKED" : "");
+        this.claim =
+            "UPDATE mail_outbox SET attempts = attempts + 1, next_attempt_at = " +
+            entityManager.createLocalTimestampPlusSeconds("lease") +
+            " WHERE id IN (:ids)";
+        this.retryLater =
+            "UPDATE mail_outbox SET next_attempt_at = " + entityManager.createLocalTimestampPlusSeconds("backoff") + " WHERE id = :id";
+    }
+
+    @Override
+    public Flux<MailOutbox> claimNext(int size, Duration lease, int maxAttempts) {
+        return db
+            .sql(selectForUpdate)
+            .bind("maxAttempts", maxAttempts)
+            .bind("size", size)
+            .map((row, metadata) -> r2dbcConverter.read(MailOutbox.class, row, metadata))
+            .all()
+            .collectList()
+            .filter(mails -> !mails.isEmpty())
+            .flatMapMany(mails -> {
+                List<Long> ids = mails.stream().map(MailOutbox::getId).collect(Collectors.toList());
+                return db
+                    .sql(claim)
+                    .bind("lease", (int) lease.toSeconds())
+                    .bind("ids", ids)
+                    .then()
+                    .thenMany(Flux.fromIterable(mails))
+                    .map(mail -> mail.attempts(mail.getAttempts() + 1));
+            });
+    }
+
+    @Override
+    public Mono<Void> retryLater(Long id, Duration backoff) {
+        return db.sql(retryLater).bind("backoff", (int) backoff.toSeconds()).bind("id", id).then();
+    }
+}
@@ -0,0 +1,35 @@
+package com.mycompany.myapp.repository;
+
+/**
+ * Version of the content of one or more tables, counted by the {@code table_version} table.
+ * <p>
+ * A counter of a table is incremented in the transaction of every write of the table, and committed with the rows, so the
+ * version, the sum of the counters of the table, changes whenever the committed content of the table does, whatever the order
+ * of the commits and the clocks of the nodes, without reading the rows themselves. See {@link TableVersionRepository}.
+ */
+public final class TableVersion {
+
+    private final long version;
+
+    public TableVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Combines this version with the version of another table, for a content which depends on both.
+     * @param other the version of the other table.
+     * @return the combined version, which changes whenever either version does, as both only increase.
+     */
+    public TableVersion and(TableVersion other) {
+        return new TableVersion(version + other.version);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return "TableVersion{version=" + version + "}";
+    }
+}
@@ -0,0 +1,86 @@
+package com.mycompany.myapp.repository;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versions of the tables whose lists are answered with an entity tag, see {@link TableVersion}.
+ * <p>
+ * The version of a table is the sum of {@link #SHARDS} counters, rows of the {@code table_version} table, one of them being
+ * incremented by the repository of the table in the transaction of each write. The row is locked until the transaction ends:
+ * the concurrent writes of a table are committed one after the other when they increment the same counter, so the counters
+ * spread them, a transaction incrementing a single counter of a table whatever its number of writes, which cannot deadlock.
+ */
+@Repository
+public class TableVersionRepository {
+
+    public static final String CURSO = "curso";
+    public static final String AREA = "area";
+
+    /**
+     * Number of counters of a table, loaded by the changelog of the {@code table_version} table.
+     */
+    static final int SHARDS = 8;
+
+    private static final String SHARD_RESOURCE_KEY = TableVersionRepository.class.getName() + ".shard.";
+
+    private final DatabaseClient db;
+
+    public TableVersionRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    /**
+     * Increment the version of a table, in the transaction which writes it.
+     *
+     * @param tableName the name of the table.
+     * @return completes when the version is incremented.
+     */
+    public Mono<Void> increment(String tableName) {
+        return shard(tableName)
+            .flatMap(shard ->
+                db
+                    .sql("UPDATE table_version SET version = version + 1 WHERE table_name = :tableName AND shard = :shard")
+                    .bind("tableName", tableName)
+                    .bind("shard", shard)
+                    .then()
+            );
+    }
+
+    /**
+     * Get the counter of a table incremented by the current transaction: drawn at its first write of the table, then kept.
+     */
+    private Mono<Integer> shard(String tableName) {
+        return TransactionSynchronizationManager
+            .forCurrentTransaction()
+            .map(synchronizationManager -> {
+                String key = SHARD_RESOURCE_KEY + tableName;
+                Integer shard = (Integer) synchronizationManager.getResource(key);
+                if (shard == null) {
+                    shard = ThreadLocalRandom.current().nextInt(SHARDS);
+                    synchronizationManager.bindResource(key, shard);
+                }
+                return shard;
+            })
+            .onErrorResume(NoTransactionException.class, e -> Mono.fromSupplier(() -> ThreadLocalRandom.current().nextInt(SHARDS)));
+    }
+
+    /**
+     * Get the combined version of some tables.
+     *
+     * @param tableNames the names of the tables.
+     * @return the version of the tables.
+     */
+    public Mono<TableVersion> find(String... tableNames) {
+        return db
+            .sql("SELECT CAST(SUM(version) AS BIGINT) FROM table_version WHERE table_name IN (:tableNames)")
+            .bind("tableNames", List.of(tableNames))
+            .map((row, metadata) -> new TableVersion(row.get(0, Long.class)))
+            .one();
+    }
+}
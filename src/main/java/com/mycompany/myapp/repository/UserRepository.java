@@ -7,14 +7,17 @@ import com.mycompany.myapp.domain.Authority;
 import com.mycompany.myapp.domain.User;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import org.apache.commons.beanutils.BeanComparator;
 import org.springframework.data.domain.*;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.data.relational.core.sql.Column;
@@ -36,8 +39,16 @@ public interface UserRepository extends R2dbcRepository<User, Long>, UserReposit
 
     Flux<User> findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(LocalDateTime dateTime);
 
+    // matches the ix_user__not_activated_created_date partial index
+    @Query(
+        "SELECT id FROM jhi_user WHERE activated = false AND activation_key IS NOT NULL AND created_date < :dateTime " +
+        "ORDER BY created_date LIMIT :limit"
+    )
+    Flux<Long> findIdsByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(LocalDateTime dateTime, int limit);
+
     Mono<User> findOneByResetKey(String resetKey);
 
+    @Query("SELECT * FROM jhi_user WHERE lower(email) = lower(:email)")
     Mono<User> findOneByEmailIgnoreCase(String email);
 
     Mono<User> findOneByLogin(String login);
@@ -48,14 +59,15 @@ public interface UserRepository extends R2dbcRepository<User, Long>, UserReposit
 
     Mono<Long> count();
 
-    @Query("INSERT INTO jhi_user_authority VALUES(:userId, :authority)")
-    Mono<Void> saveUserAuthority(Long userId, String authority);
-
     @Query("DELETE FROM jhi_user_authority")
     Mono<Void> deleteAllUserAuthorities();
 
-    @Query("DELETE FROM jhi_user_authority WHERE user_id = :userId")
-    Mono<Void> deleteUserAuthorities(Long userId);
+    @Query("DELETE FROM jhi_user_authority WHERE user_id IN (SELECT id FROM jhi_user WHERE id IN (:ids) AND activated = false)")
+    Mono<Void> deleteUserAuthoritiesByUserIdInAndActivatedIsFalse(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM jhi_user WHERE id IN (:ids) AND activated = false")
+    Mono<Integer> deleteByIdInAndActivatedIsFalse(Collection<Long> ids);
 }
 
 interface DeleteExtended<T> {
@@ -68,54 +80,133 @@ interface UserRepositoryInternal extends DeleteExtended<User> {
     Mono<User> findOneWithAuthoritiesByEmailIgnoreCase(String email);
 
     Flux<User> findAllWithAuthorities(Pageable pageable);
+
+    Mono<Void> saveUserAuthorities(Long userId, Collection<String> authorities);
+
+    Mono<Void> updateUserAuthorities(Long userId, Collection<String> authorities);
 }
 
 class UserRepositoryInternalImpl implements UserRepositoryInternal {
 
+    private static final Map<String, String> SORTABLE_COLUMNS = Map.ofEntries(
+        Map.entry("id", "id"),
+        Map.entry("login", "login"),
+        Map.entry("firstName", "first_name"),
+        Map.entry("lastName", "last_name"),
+        Map.entry("email", "email"),
+        Map.entry("activated", "activated"),
+        Map.entry("langKey", "lang_key"),
+        Map.entry("createdBy", "created_by"),
+        Map.entry("createdDate", "created_date"),
+        Map.entry("lastModifiedBy", "last_modified_by"),
+        Map.entry("lastModifiedDate", "last_modified_date")
+    );
+
+    private static final EntityManager.LinkTable USER_AUTHORITY = new EntityManager.LinkTable(
+        "jhi_user_authority",
+        "user_id",
+        "authority_name"
+    );
+
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final R2dbcConverter r2dbcConverter;
-
-    public UserRepositoryInternalImpl(DatabaseClient db, R2dbcEntityTemplate r2dbcEntityTemplate, R2dbcConverter r2dbcConverter) {
+    private final EntityManager entityManager;
+
+    public UserRepositoryInternalImpl(
+        DatabaseClient db,
+        R2dbcEntityTemplate r2dbcEntityTemplate,
+        R2dbcConverter r2dbcConverter,
+        EntityManager entityManager
+    ) {
         this.db = db;
         this.r2dbcEntityTemplate = r2dbcEntityTemplate;
         this.r2dbcConverter = r2dbcConverter;
+        this.entityManager = entityManager;
     }
 
     @Override
     public Mono<User> findOneWithAuthoritiesByLogin(String login) {
-        return findOneWithAuthoritiesBy("login", login);
+        return findOneWithAuthoritiesBy("u.login", "login", login);
     }
 
     @Override
     public Mono<User> findOneWithAuthoritiesByEmailIgnoreCase(String email) {
-        return findOneWithAuthoritiesBy("email", email.toLowerCase());
+        // matches the ix_user__lower_email index
+        return findOneWithAuthoritiesBy("lower(u.email)", "email", email.toLowerCase());
     }
 
     @Override
     public Flux<User> findAllWithAuthorities(Pageable pageable) {
-        String property = pageable.getSort().stream().map(Sort.Order::getProperty).findFirst().orElse("id");
-        String direction = String.valueOf(
-            pageable.getSort().stream().map(Sort.Order::getDirection).findFirst().orElse(Sort.DEFAULT_DIRECTION)
-        );
-        long page = pageable.getPageNumber();
-        long size = pageable.getPageSize();
+        String select =
+            "SELECT * FROM jhi_user u ORDER BY " +
+            createOrderBy(pageable.getSort()) +
+            " LIMIT " +
+            pageable.getPageSize() +
+            " OFFSET " +
+            pageable.getOffset();
 
         return db
-            .sql("SELECT * FROM jhi_user u LEFT JOIN jhi_user_authority ua ON u.id=ua.user_id")
-            .map((row, metadata) ->
-                Tuples.of(r2dbcConverter.read(User.class, row, metadata), Optional.ofNullable(row.get("authority_name", String.class)))
-            )
+            .sql(select)
+            .map((row, metadata) -> r2dbcConverter.read(User.class, row, metadata))
             .all()
-            .groupBy(t -> t.getT1().getLogin())
-            .flatMap(l -> l.collectList().map(t -> updateUserWithAuthorities(t.get(0).getT1(), t)))
-            .sort(
-                Sort.Direction.fromString(direction) == Sort.DEFAULT_DIRECTION
-                    ? new BeanComparator<>(property)
-                    : new BeanComparator<>(property).reversed()
-            )
-            .skip(page * size)
-            .take(size);
+            .collectList()
+            .flatMapMany(users -> {
+                if (users.isEmpty()) {
+                    return Flux.empty();
+                }
+                List<Long> ids = users.stream().map(User::getId).collect(Collectors.toList());
+                return db
+                    .sql("SELECT user_id, authority_name FROM jhi_user_authority WHERE user_id IN (:ids)")
+                    .bind("ids", ids)
+                    .map((row, metadata) -> Tuples.of(row.get("user_id", Long.class), row.get("authority_name", String.class)))
+                    .all()
+                    .collectMultimap(Tuple2::getT1, Tuple2::getT2)
+                    .flatMapMany(authoritiesByUserId ->
+                        Flux
+                            .fromIterable(users)
+                            .map(user -> {
+                                user.setAuthorities(
+                                    authoritiesByUserId
+                                        .getOrDefault(user.getId(), Collections.emptyList())
+                                        .stream()
+                                        .map(name -> {
+                                            Authority authority = new Authority();
+                                            authority.setName(name);
+                                            return authority;
+                                        })
+                                        .collect(Collectors.toSet())
+                                );
+                                return user;
+                            })
+                    );
+            });
+    }
+
+    private static String createOrderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORTABLE_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Sorting users by '" + order.getProperty() + "' is not supported");
+            }
+            orders.add("u." + column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        if (sort.getOrderFor("id") == null) {
+            // the id makes the order stable across pages
+            orders.add("u.id ASC");
+        }
+        return String.join(", ", orders);
+    }
+
+    @Override
+    public Mono<Void> saveUserAuthorities(Long userId, Collection<String> authorities) {
+        return entityManager.insertIntoLinkTable(USER_AUTHORITY, userId, authorities).then();
+    }
+
+    @Override
+    public Mono<Void> updateUserAuthorities(Long userId, Collection<String> authorities) {
+        return entityManager.updateLinkTableChanges(USER_AUTHORITY, userId, authorities.stream()).then();
     }
 
     @Override
@@ -127,9 +218,11 @@ class UserRepositoryInternalImpl implements UserRepositoryInternal {
             .then(r2dbcEntityTemplate.delete(User.class).matching(query(where("id").is(user.getId()))).all().then());
     }
 
-    private Mono<User> findOneWithAuthoritiesBy(String fieldName, Object fieldValue) {
+    private Mono<User> findOneWithAuthoritiesBy(String fieldExpression, String fieldName, Object fieldValue) {
         return db
-            .sql("SELECT * FROM jhi_user u LEFT JOIN jhi_user_authority ua ON u.id=ua.user_id WHERE u." + fieldName + " = :" + fieldName)
+            .sql(
+                "SELECT * FROM jhi_user u LEFT JOIN jhi_user_authority ua ON u.id=ua.user_id WHERE " + fieldExpression + " = :" + fieldName
+            )
             .bind(fieldName, fieldValue)
             .map((row, metadata) ->
                 Tuples.of(r2dbcConverter.read(User.class, row, metadata), Optional.ofNullable(row.get("authority_name", String.class)))
@@ -3,7 +3,10 @@ package com.mycompany.myapp.repository.rowmapper;
 import com.mycompany.myapp.domain.Area;
 import com.mycompany.myapp.domain.enumeration.StatusCurso;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
@@ -13,7 +16,19 @@ import org.springframework.stereotype.Service;
 @Service
 public class AreaRowMapper implements BiFunction<Row, String, Area> {
 
+    private static final String[] COLUMNS = {
+        "id",
+        "nome",
+        "descricao",
+        "status",
+        "data_criacao",
+        "data_inatividade",
+        "data_atualizacao",
+        "versao"
+    };
+
     private final ColumnConverter converter;
+    private final Map<String, String[]> columnNames = new ConcurrentHashMap<>();
 
     public AreaRowMapper(ColumnConverter converter) {
         this.converter = converter;
@@ -32,6 +47,31 @@ public class AreaRowMapper implements BiFunction<Row, String, Area> {
         entity.setStatus(converter.fromRow(row, prefix + "_status", StatusCurso.class));
         entity.setDataCriacao(converter.fromRow(row, prefix + "_data_criacao", Instant.class));
         entity.setDataInatividade(converter.fromRow(row, prefix + "_data_inatividade", Instant.class));
+        entity.setDataAtualizacao(converter.fromRow(row, prefix + "_data_atualizacao", Instant.class));
+        entity.setVersao(converter.fromRow(row, prefix + "_versao", Long.class));
         return entity;
     }
+
+    /**
+     * Compile a mapper for the rows of one query, which resolves the columns of the given prefix once per result set and
+     * reads them by index.
+     * @param prefix the column prefix.
+     * @return the mapper of the {@link Area} stored in the database.
+     */
+    public BiFunction<Row, RowMetadata, Area> compile(String prefix) {
+        ColumnOrdinals columnOrdinals = new ColumnOrdinals(columnNames.computeIfAbsent(prefix, p -> ColumnOrdinals.prefixed(p, COLUMNS)));
+        return (row, metadata) -> {
+            int[] ordinals = columnOrdinals.of(metadata);
+            Area entity = new Area();
+            entity.setId(converter.fromRow(row, ordinals[0], Long.class));
+            entity.setNome(converter.fromRow(row, ordinals[1], String.class));
+            entity.setDescricao(converter.fromRow(row, ordinals[2], String.class));
+            entity.setStatus(converter.fromRow(row, ordinals[3], StatusCurso.class));
+            entity.setDataCriacao(converter.fromRow(row, ordinals[4], Instant.class));
+            entity.setDataInatividade(converter.fromRow(row, ordinals[5], Instant.class));
+            entity.setDataAtualizacao(converter.fromRow(row, ordinals[6], Instant.class));
+            entity.setVersao(converter.fromRow(row, ordinals[7], Long.class));
+            return entity;
+        };
+    }
 }
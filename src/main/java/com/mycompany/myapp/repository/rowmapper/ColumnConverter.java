@@ -1,6 +1,10 @@
 package com.mycompany.myapp.repository.rowmapper;
 
 import io.r2dbc.spi.Row;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
@@ -16,6 +20,7 @@ public class ColumnConverter {
 
     private final ConversionService conversionService;
     private final R2dbcCustomConversions conversions;
+    private final Map<ConversionKey, Function<Object, ?>> conversionPlans = new ConcurrentHashMap<>();
 
     public ColumnConverter(R2dbcCustomConversions conversions, R2dbcConverter r2dbcConverter) {
         this.conversionService = r2dbcConverter.getConversionService();
@@ -48,6 +53,9 @@ public class ColumnConverter {
 
     /**
      * Convert a value from the {@link Row} to a type - throws an exception, it it's impossible.
+     * <p>
+     * The conversion from the Java type the driver decodes the column to, to the target class, is resolved once and cached,
+     * so the rows are decoded without looking up the {@link ConversionService} or failing over from the driver.
      * @param row which contains the column values.
      * @param target class.
      * @param columnName the name of the column which to convert.
@@ -55,12 +63,66 @@ public class ColumnConverter {
      * @return the value which can be constructed from the input.
      */
     public <T> T fromRow(Row row, String columnName, Class<T> target) {
-        try {
-            // try, directly the driver
-            return row.get(columnName, target);
-        } catch (Exception e) {
-            Object obj = row.get(columnName);
-            return convert(obj, target);
+        return fromValue(row.get(columnName), target);
+    }
+
+    /**
+     * Convert a value from the {@link Row} to a type, by the index of its column, see {@link ColumnOrdinals}.
+     * @param row which contains the column values.
+     * @param index the index of the column which to convert.
+     * @param target class.
+     * @param <T> the parameter for the intended type.
+     * @return the value which can be constructed from the input.
+     */
+    public <T> T fromRow(Row row, int index, Class<T> target) {
+        return fromValue(row.get(index), target);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T fromValue(@Nullable Object value, Class<T> target) {
+        if (value == null || target.isInstance(value)) {
+            return (T) value;
+        }
+        return (T) getConversionPlan(value.getClass(), target).apply(value);
+    }
+
+    private Function<Object, ?> getConversionPlan(Class<?> source, Class<?> target) {
+        return conversionPlans.computeIfAbsent(new ConversionKey(source, target), key -> createConversionPlan(source, target));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Function<Object, ?> createConversionPlan(Class<?> source, Class<?> target) {
+        if (!conversions.hasCustomReadTarget(source, target) && Enum.class.isAssignableFrom(target)) {
+            return value -> Enum.valueOf((Class<Enum>) target, value.toString());
+        }
+        return value -> conversionService.convert(value, target);
+    }
+
+    private static final class ConversionKey {
+
+        private final Class<?> source;
+        private final Class<?> target;
+
+        private ConversionKey(Class<?> source, Class<?> target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ConversionKey)) {
+                return false;
+            }
+            ConversionKey that = (ConversionKey) o;
+            return source == that.source && target == that.target;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, target);
         }
     }
 }
@@ -0,0 +1,82 @@
+package com.mycompany.myapp.repository.rowmapper;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.RowMetadata;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The ordinals of the columns read by a row mapper in a result set, resolved once from its {@link RowMetadata} and reused for
+ * all its rows, so the rows are read by index instead of by name.
+ * <p>
+ * A new instance is created for each query, see {@link CursoRowMapper#compile(String)}.
+ */
+public final class ColumnOrdinals {
+
+    private final String[] columnNames;
+
+    private volatile Binding binding;
+
+    ColumnOrdinals(String[] columnNames) {
+        this.columnNames = columnNames;
+    }
+
+    /**
+     * Creates the names of the given columns for a prefix, in lower case.
+     * @param prefix the column prefix.
+     * @param columns the column names, without the prefix.
+     * @return the prefixed column names.
+     */
+    static String[] prefixed(String prefix, String... columns) {
+        String[] columnNames = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            columnNames[i] = (prefix + "_" + columns[i]).toLowerCase(Locale.ROOT);
+        }
+        return columnNames;
+    }
+
+    /**
+     * Get the ordinals of the columns in the result set described by the given metadata.
+     * @param metadata the metadata of the result set.
+     * @return the ordinals, in the order of the column names.
+     */
+    public int[] of(RowMetadata metadata) {
+        Binding current = binding;
+        if (current == null || current.metadata != metadata) {
+            current = new Binding(metadata, resolve(metadata));
+            binding = current;
+        }
+        return current.ordinals;
+    }
+
+    private int[] resolve(RowMetadata metadata) {
+        List<? extends ColumnMetadata> columns = metadata.getColumnMetadatas();
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            indexes.putIfAbsent(columns.get(i).getName().toLowerCase(Locale.ROOT), i);
+        }
+        int[] ordinals = new int[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            Integer index = indexes.get(columnNames[i]);
+            if (index == null) {
+                throw new NoSuchElementException("Column " + columnNames[i] + " is not in the result set");
+            }
+            ordinals[i] = index;
+        }
+        return ordinals;
+    }
+
+    private static final class Binding {
+
+        private final RowMetadata metadata;
+        private final int[] ordinals;
+
+        private Binding(RowMetadata metadata, int[] ordinals) {
+            this.metadata = metadata;
+            this.ordinals = ordinals;
+        }
+    }
+}
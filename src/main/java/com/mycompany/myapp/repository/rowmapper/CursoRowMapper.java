@@ -3,7 +3,10 @@ package com.mycompany.myapp.repository.rowmapper;
 import com.mycompany.myapp.domain.Curso;
 import com.mycompany.myapp.domain.enumeration.StatusCurso;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
@@ -13,7 +16,22 @@ import org.springframework.stereotype.Service;
 @Service
 public class CursoRowMapper implements BiFunction<Row, String, Curso> {
 
+    private static final String[] COLUMNS = {
+        "id",
+        "nome",
+        "descricao",
+        "status",
+        "data_criacao",
+        "data_inatividade",
+        "area_id",
+        "data_atualizacao",
+        "versao"
+    };
+    private static final String[] SUMMARY_COLUMNS = { "id", "nome", "status", "area_id" };
+
     private final ColumnConverter converter;
+    private final Map<String, String[]> columnNames = new ConcurrentHashMap<>();
+    private final Map<String, String[]> summaryColumnNames = new ConcurrentHashMap<>();
 
     public CursoRowMapper(ColumnConverter converter) {
         this.converter = converter;
@@ -33,6 +51,53 @@ public class CursoRowMapper implements BiFunction<Row, String, Curso> {
         entity.setDataCriacao(converter.fromRow(row, prefix + "_data_criacao", Instant.class));
         entity.setDataInatividade(converter.fromRow(row, prefix + "_data_inatividade", Instant.class));
         entity.setAreaId(converter.fromRow(row, prefix + "_area_id", Long.class));
+        entity.setDataAtualizacao(converter.fromRow(row, prefix + "_data_atualizacao", Instant.class));
+        entity.setVersao(converter.fromRow(row, prefix + "_versao", Long.class));
         return entity;
     }
+
+    /**
+     * Compile a mapper for the rows of one query, which resolves the columns of the given prefix once per result set and
+     * reads them by index.
+     * @param prefix the column prefix.
+     * @return the mapper of the {@link Curso} stored in the database.
+     */
+    public BiFunction<Row, RowMetadata, Curso> compile(String prefix) {
+        ColumnOrdinals columnOrdinals = new ColumnOrdinals(columnNames.computeIfAbsent(prefix, p -> ColumnOrdinals.prefixed(p, COLUMNS)));
+        return (row, metadata) -> {
+            int[] ordinals = columnOrdinals.of(metadata);
+            Curso entity = new Curso();
+            entity.setId(converter.fromRow(row, ordinals[0], Long.class));
+            entity.setNome(converter.fromRow(row, ordinals[1], String.class));
+            entity.setDescricao(converter.fromRow(row, ordinals[2], String.class));
+            entity.setStatus(converter.fromRow(row, ordinals[3], StatusCurso.class));
+            entity.setDataCriacao(converter.fromRow(row, ordinals[4], Instant.class));
+            entity.setDataInatividade(converter.fromRow(row, ordinals[5], Instant.class));
+            entity.setAreaId(converter.fromRow(row, ordinals[6], Long.class));
+            entity.setDataAtualizacao(converter.fromRow(row, ordinals[7], Instant.class));
+            entity.setVersao(converter.fromRow(row, ordinals[8], Long.class));
+            return entity;
+        };
+    }
+
+    /**
+     * Compile a mapper for the rows of a summary query, see {@link com.mycompany.myapp.repository.CursoSqlHelper#getSummaryColumns},
+     * which only sets the id, name, status and area id of the cursos.
+     * @param prefix the column prefix.
+     * @return the mapper of the {@link Curso} summaries stored in the database.
+     */
+    public BiFunction<Row, RowMetadata, Curso> compileSummary(String prefix) {
+        ColumnOrdinals columnOrdinals = new ColumnOrdinals(
+            summaryColumnNames.computeIfAbsent(prefix, p -> ColumnOrdinals.prefixed(p, SUMMARY_COLUMNS))
+        );
+        return (row, metadata) -> {
+            int[] ordinals = columnOrdinals.of(metadata);
+            Curso entity = new Curso();
+            entity.setId(converter.fromRow(row, ordinals[0], Long.class));
+            entity.setNome(converter.fromRow(row, ordinals[1], String.class));
+            entity.setStatus(converter.fromRow(row, ordinals[2], StatusCurso.class));
+            entity.setAreaId(converter.fromRow(row, ordinals[3], Long.class));
+            return entity;
+        };
+    }
 }
@@ -1,9 +1,17 @@
 package com.mycompany.myapp.security;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.domain.Authority;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.UserRepository;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
 import org.slf4j.Logger;
@@ -14,11 +22,18 @@ import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 /**
  * Authenticate a user from the database.
+ * <p>
+ * The activated users are cached for a short time by normalized login or e-mail, so retried authentications do not query the
+ * database again. The entries of a user are evicted by {@link com.mycompany.myapp.service.UserService} once the transaction
+ * writing the user is committed; the time to live bounds the staleness of the users written by another instance.
+ * <p>
+ * The cached keys of each user are indexed by its id, so an eviction only looks up the keys of the user. A user loaded while
+ * an eviction happens is returned but not kept, as it may have been read before the commit.
  */
 @Component("userDetailsService")
 public class DomainUserDetailsService implements ReactiveUserDetailsService {
@@ -27,29 +42,92 @@ public class DomainUserDetailsService implements ReactiveUserDetailsService {
 
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    private final AsyncCache<String, User> userCache;
+
+    /**
+     * The cached keys of each user. An entry is written after the entries of the cache it indexes, and expires after them.
+     */
+    private final Cache<Long, Set<String>> keysByUserId;
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    public DomainUserDetailsService(UserRepository userRepository, ApplicationProperties applicationProperties) {
         this.userRepository = userRepository;
+        ApplicationProperties.Security.UserCache userCache = applicationProperties.getSecurity().getUserCache();
+        this.userCache = Caffeine.newBuilder().maximumSize(userCache.getMaxSize()).expireAfterWrite(userCache.getTimeToLive()).buildAsync();
+        this.keysByUserId = Caffeine.newBuilder().expireAfterWrite(userCache.getTimeToLive()).build();
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Mono<UserDetails> findByUsername(final String login) {
         log.debug("Authenticating {}", login);
 
         if (new EmailValidator().isValid(login, null)) {
-            return userRepository
-                .findOneWithAuthoritiesByEmailIgnoreCase(login)
+            return findUser(login.toLowerCase(Locale.ENGLISH), userRepository::findOneWithAuthoritiesByEmailIgnoreCase)
                 .switchIfEmpty(Mono.error(new UsernameNotFoundException("User with email " + login + " was not found in the database")))
                 .map(user -> createSpringSecurityUser(login, user));
         }
 
         String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
-        return userRepository
-            .findOneWithAuthoritiesByLogin(lowercaseLogin)
+        return findUser(lowercaseLogin, userRepository::findOneWithAuthoritiesByLogin)
             .switchIfEmpty(Mono.error(new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database")))
             .map(user -> createSpringSecurityUser(lowercaseLogin, user));
     }
 
+    /**
+     * Evict the cached entries of a user, after it has been written.
+     *
+     * @param userId the id of the user.
+     */
+    public void evict(Long userId) {
+        evictions.incrementAndGet();
+        Set<String> keys = keysByUserId.asMap().remove(userId);
+        if (keys != null) {
+            userCache.synchronous().invalidateAll(keys);
+        }
+    }
+
+    /**
+     * Evict the cached entries of several users, after they have been deleted.
+     *
+     * @param userIds the ids of the users.
+     */
+    public void evictAll(Collection<Long> userIds) {
+        userIds.forEach(this::evict);
+    }
+
+    /**
+     * Get a user from the cache, loading it if it is not cached. The users which are not found are not cached.
+     */
+    private Mono<User> findUser(String key, Function<String, Mono<User>> loader) {
+        return Mono.deferContextual(context -> {
+            long evictionsBefore = evictions.get();
+            CompletableFuture<User> user = userCache.get(key, (k, executor) -> load(k, loader, context));
+            return Mono.fromFuture(user).doOnNext(loaded -> keepOrDiscard(key, loaded, user, evictionsBefore));
+        });
+    }
+
+    private CompletableFuture<User> load(String key, Function<String, Mono<User>> loader, ContextView context) {
+        return loader.apply(key).contextWrite(context).toFuture();
+    }
+
+    /**
+     * Index the key of a loaded user, or discard it if it is not activated or if an eviction happened since it was requested.
+     * The key is indexed before the evictions are checked, so an eviction which is not seen here sees the key.
+     */
+    private void keepOrDiscard(String key, User user, CompletableFuture<User> future, long evictionsBefore) {
+        if (user.isActivated()) {
+            keysByUserId.asMap().compute(user.getId(), (id, keys) -> {
+                Set<String> userKeys = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+                userKeys.add(key);
+                return userKeys;
+            });
+        }
+        if (!user.isActivated() || evictions.get() != evictionsBefore) {
+            userCache.asMap().remove(key, future);
+        }
+    }
+
     private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
         if (!user.isActivated()) {
             throw new UserNotActivatedException("User " + lowercaseLogin + " was not activated");
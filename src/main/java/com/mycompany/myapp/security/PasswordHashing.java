@@ -0,0 +1,73 @@
+package com.mycompany.myapp.security;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The scheduler of the password hashing, a CPU intensive task kept off the shared schedulers: the hashes of the passwords
+ * presented on authentication, and of the passwords set on registration and reset.
+ * <p>
+ * The scheduler has a thread per CPU and a bounded queue. When the queue is full, the hashing fails fast with a
+ * {@link PasswordHashingRejectedException}, answered with 429 Too Many Requests, rather than piling up the requests of a login storm.
+ * The queue depth and the latency of the hashing are measured by the {@code executor} meters tagged {@code name=password-hashing},
+ * and the rejections by the {@code security.password-hashing.rejected} meter.
+ */
+@Component
+public class PasswordHashing implements DisposableBean {
+
+    public static final String NAME = "password-hashing";
+
+    public static final String REJECTED_METER_NAME = "security.password-hashing.rejected";
+
+    private final Scheduler scheduler;
+
+    public PasswordHashing(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Security.PasswordHashing passwordHashing = applicationProperties.getSecurity().getPasswordHashing();
+        Counter rejectedCounter = Counter
+            .builder(REJECTED_METER_NAME)
+            .description("Indicates the password hashing tasks rejected because the queue was full.")
+            .register(meterRegistry);
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            passwordHashing.getThreads(),
+            passwordHashing.getThreads(),
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(passwordHashing.getQueueCapacity()),
+            runnable -> {
+                Thread thread = new Thread(runnable, NAME + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            (runnable, rejectingExecutor) -> {
+                rejectedCounter.increment();
+                throw new PasswordHashingRejectedException("Password hashing queue is full");
+            }
+        );
+        this.scheduler = Schedulers.fromExecutorService(ExecutorServiceMetrics.monitor(meterRegistry, executor, NAME), NAME);
+    }
+
+    /**
+     * Get the scheduler to hash the passwords on.
+     *
+     * @return the scheduler.
+     */
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+}
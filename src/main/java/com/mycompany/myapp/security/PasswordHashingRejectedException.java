@@ -0,0 +1,27 @@
+package com.mycompany.myapp.security;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * This exception is thrown when a password hashing task is rejected because the queue of the {@link PasswordHashing}
+ * scheduler is full.
+ */
+public class PasswordHashingRejectedException extends RejectedExecutionException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+
+    /**
+     * Checks whether an error is a rejected password hashing task: Reactor signals the rejections of a scheduler wrapped in
+     * its own {@link RejectedExecutionException}.
+     *
+     * @param error the error.
+     * @return true if the error, or its cause, is a {@link PasswordHashingRejectedException}.
+     */
+    public static boolean isRejection(Throwable error) {
+        return error instanceof PasswordHashingRejectedException || error.getCause() instanceof PasswordHashingRejectedException;
+    }
+}
@@ -1,5 +1,9 @@
 package com.mycompany.myapp.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.management.SecurityMetersService;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
@@ -8,7 +12,11 @@ import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,7 +48,13 @@ public class TokenProvider {
 
     private final SecurityMetersService securityMetersService;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties, SecurityMetersService securityMetersService) {
+    private final Cache<String, CachedAuthentication> authenticationCache;
+
+    public TokenProvider(
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        SecurityMetersService securityMetersService
+    ) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret();
         if (!ObjectUtils.isEmpty(secret)) {
@@ -61,6 +75,14 @@ public class TokenProvider {
             1000 * jHipsterProperties.getSecurity().getAuthentication().getJwt().getTokenValidityInSecondsForRememberMe();
 
         this.securityMetersService = securityMetersService;
+
+        ApplicationProperties.Security.TokenCache tokenCache = applicationProperties.getSecurity().getTokenCache();
+        this.authenticationCache =
+            Caffeine
+                .newBuilder()
+                .maximumSize(tokenCache.getMaxSize())
+                .expireAfter(new CachedAuthenticationExpiry(tokenCache.getTimeToLive()))
+                .build();
     }
 
     public String createToken(Authentication authentication, boolean rememberMe) {
@@ -86,23 +108,45 @@ public class TokenProvider {
 
     public Authentication getAuthentication(String token) {
         Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        return createAuthentication(token, claims);
+    }
 
-        Collection<? extends GrantedAuthority> authorities = Arrays
-            .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-            .filter(auth -> !auth.trim().isEmpty())
-            .map(SimpleGrantedAuthority::new)
-            .collect(Collectors.toList());
-
-        User principal = new User(claims.getSubject(), "", authorities);
+    /**
+     * Validates the token and returns its authentication, parsing and verifying its signature only once.
+     * <p>
+     * The authentications of the tokens already validated are cached until the tokens expire, so the following
+     * requests of the same session skip the signature verification.
+     *
+     * @param authToken the token to validate.
+     * @return the authentication of the token, or empty if the token is not valid.
+     */
+    public Optional<Authentication> getValidAuthentication(String authToken) {
+        String digest = digest(authToken);
+        CachedAuthentication cached = authenticationCache.getIfPresent(digest);
+        if (cached != null) {
+            this.securityMetersService.trackTokenCacheHit();
+            return Optional.of(cached.authentication);
+        }
+        this.securityMetersService.trackTokenCacheMiss();
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        Claims claims = parseClaims(authToken);
+        if (claims == null) {
+            return Optional.empty();
+        }
+        Authentication authentication = createAuthentication(authToken, claims);
+        if (claims.getExpiration() != null) {
+            authenticationCache.put(digest, new CachedAuthentication(authentication, claims.getExpiration().getTime()));
+        }
+        return Optional.of(authentication);
     }
 
     public boolean validateToken(String authToken) {
-        try {
-            jwtParser.parseClaimsJws(authToken);
+        return parseClaims(authToken) != null;
+    }
 
-            return true;
+    private Claims parseClaims(String authToken) {
+        try {
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (ExpiredJwtException e) {
             this.securityMetersService.trackTokenExpired();
 
@@ -123,6 +167,67 @@ public class TokenProvider {
             log.error("Token validation error {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    private Authentication createAuthentication(String token, Claims claims) {
+        Collection<? extends GrantedAuthority> authorities = Arrays
+            .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
+            .filter(auth -> !auth.trim().isEmpty())
+            .map(SimpleGrantedAuthority::new)
+            .collect(Collectors.toList());
+
+        User principal = new User(claims.getSubject(), "", authorities);
+
+        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class CachedAuthentication {
+
+        private final Authentication authentication;
+
+        private final long expirationTime;
+
+        private CachedAuthentication(Authentication authentication, long expirationTime) {
+            this.authentication = authentication;
+            this.expirationTime = expirationTime;
+        }
+    }
+
+    /**
+     * Evicts a cached authentication when its token expires, or after the configured time to live.
+     */
+    private static final class CachedAuthenticationExpiry implements Expiry<String, CachedAuthentication> {
+
+        private final long timeToLiveNanos;
+
+        private CachedAuthenticationExpiry(Duration timeToLive) {
+            this.timeToLiveNanos = timeToLive.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, CachedAuthentication value, long currentTime) {
+            long untilExpiration = TimeUnit.MILLISECONDS.toNanos(value.expirationTime - System.currentTimeMillis());
+            return Math.max(0, Math.min(untilExpiration, timeToLiveNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -1,13 +1,18 @@
 package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.Area;
+import com.mycompany.myapp.domain.criteria.AreaCriteria;
 import com.mycompany.myapp.domain.enumeration.StatusCurso;
+import com.mycompany.myapp.repository.AreaCache;
 import com.mycompany.myapp.repository.AreaRepository;
+import com.mycompany.myapp.repository.Keyset;
+import com.mycompany.myapp.repository.TableVersion;
 import com.mycompany.myapp.service.dto.AreaDTO;
 import com.mycompany.myapp.service.mapper.AreaMapper;
 import java.time.Instant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,9 +32,12 @@ public class AreaService {
 
     private final AreaMapper areaMapper;
 
-    public AreaService(AreaRepository areaRepository, AreaMapper areaMapper) {
+    private final AreaCache areaCache;
+
+    public AreaService(AreaRepository areaRepository, AreaMapper areaMapper, AreaCache areaCache) {
         this.areaRepository = areaRepository;
         this.areaMapper = areaMapper;
+        this.areaCache = areaCache;
     }
 
     /**
@@ -46,7 +54,7 @@ public class AreaService {
                 if (isDuplicado) {
                     return Mono.error(new RuntimeException("A área: '" + areaDTO.getNome() + "' já existe."));
                 } else {
-                    return areaRepository.save(areaMapper.toEntity(areaDTO)).map(areaMapper::toDto);
+                    return areaRepository.save(areaMapper.toEntity(areaDTO).versao(null)).flatMap(this::evict).map(areaMapper::toDto);
                 }
             });
     }
@@ -59,14 +67,19 @@ public class AreaService {
      * @return Mono<Boolean> indicando se o nome já existe.
      */
     public Mono<Boolean> isNomeDuplicado(String nome, Long id) {
-        return areaRepository.findAll().filter(area -> area.getNome().equalsIgnoreCase(nome) && !area.getId().equals(id)).hasElements();
+        if (id == null) {
+            return areaRepository.existsByNomeIgnoreCase(nome);
+        }
+        return areaRepository.existsByNomeIgnoreCaseAndIdNot(nome, id);
     }
 
     /**
-     * Update a area.
+     * Update a area, with a single statement conditional on the version sent, which is required.
      *
      * @param areaDTO the entity to save.
      * @return the persisted entity.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the area was modified since its version was read,
+     * or if it does not exist.
      */
     public Mono<AreaDTO> update(AreaDTO areaDTO) {
         log.debug("Request to update Area : {}", areaDTO);
@@ -82,20 +95,17 @@ public class AreaService {
                 if (isDuplicado) {
                     return Mono.error(new RuntimeException("A área: '" + areaDTO.getNome() + "' já existe."));
                 } else {
-                    return areaRepository.save(areaMapper.toEntity(areaDTO)).map(areaMapper::toDto);
+                    return areaRepository.save(areaMapper.toEntity(areaDTO)).flatMap(this::evict).map(areaMapper::toDto);
                 }
             });
     }
 
-    private String getOriginalNome(Long areaId) {
-        return areaRepository.findById(areaId).map(Area::getNome).defaultIfEmpty("").block();
-    }
-
     /**
-     * Partially update a area.
+     * Partially update a area, with a statement conditional on the version read, or on the version sent if any.
      *
      * @param areaDTO the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the area does not exist.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the area was modified since its version was read.
      */
     public Mono<AreaDTO> partialUpdate(AreaDTO areaDTO) {
         log.debug("Request to partially update Area : {}", areaDTO);
@@ -108,19 +118,71 @@ public class AreaService {
                 return existingArea;
             })
             .flatMap(areaRepository::save)
+            .flatMap(this::evict)
             .map(areaMapper::toDto);
     }
 
     /**
-     * Get all the areas.
+     * Get the areas matching the criteria.
+     *
+     * @param criteria the filtering criteria.
+     * @param pageable the pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<AreaDTO> findByCriteria(AreaCriteria criteria, Pageable pageable) {
+        log.debug("Request to get all Areas by criteria: {}", criteria);
+        return areaRepository.findAllBy(pageable, criteria).map(areaMapper::toDto);
+    }
+
+    /**
+     * Get the areas matching the criteria, as a stream.
+     *
+     * @param criteria the filtering criteria.
+     * @return the stream of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<AreaDTO> streamByCriteria(AreaCriteria criteria) {
+        log.debug("Request to stream Areas by criteria: {}", criteria);
+        return areaRepository.findAllBy(criteria).map(areaMapper::toDto);
+    }
+
+    /**
+     * Get a page of the areas matching the criteria, along with the total number of matching areas, in a single query.
      *
+     * @param criteria the filtering criteria.
      * @param pageable the pagination information.
+     * @return the page of entities.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Page<AreaDTO>> findPageByCriteria(AreaCriteria criteria, Pageable pageable) {
+        log.debug("Request to get a page of Areas by criteria: {}", criteria);
+        return areaRepository.findPageBy(pageable, criteria).map(page -> page.map(areaMapper::toDto));
+    }
+
+    /**
+     * Count the areas matching the criteria.
+     *
+     * @param criteria the filtering criteria.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(AreaCriteria criteria) {
+        log.debug("Request to count Areas by criteria: {}", criteria);
+        return areaRepository.countBy(criteria);
+    }
+
+    /**
+     * Get a page of the areas matching the criteria, following the given keyset.
+     *
+     * @param criteria the filtering criteria.
+     * @param keyset the keyset pagination information.
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public Flux<AreaDTO> findAll(Pageable pageable) {
-        log.debug("Request to get all Areas");
-        return areaRepository.findAllBy(pageable).map(areaMapper::toDto);
+    public Flux<AreaDTO> findByCriteria(AreaCriteria criteria, Keyset keyset) {
+        log.debug("Request to get a keyset page of Areas by criteria: {}", criteria);
+        return areaRepository.findAllBy(keyset, criteria).map(areaMapper::toDto);
     }
 
     /**
@@ -132,6 +194,27 @@ public class AreaService {
         return areaRepository.count();
     }
 
+    /**
+     * Get the last modification date of an area, from the database rather than the cache, which may be behind it.
+     *
+     * @param id the id of the entity.
+     * @return the last modification date, or empty if the area does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Instant> findLastModified(Long id) {
+        return areaRepository.findLastModifiedById(id);
+    }
+
+    /**
+     * Get the version of the areas, which changes whenever an area is written or deleted.
+     *
+     * @return the version of the area table.
+     */
+    @Transactional(readOnly = true)
+    public Mono<TableVersion> findTableVersion() {
+        return areaRepository.findTableVersion();
+    }
+
     /**
      * Get one area by id.
      *
@@ -141,7 +224,7 @@ public class AreaService {
     @Transactional(readOnly = true)
     public Mono<AreaDTO> findOne(Long id) {
         log.debug("Request to get Area : {}", id);
-        return areaRepository.findById(id).map(areaMapper::toDto);
+        return areaCache.get(id).map(areaMapper::toDto);
     }
 
     /**
@@ -152,6 +235,13 @@ public class AreaService {
      */
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Area : {}", id);
-        return areaRepository.deleteById(id);
+        return areaRepository.deleteById(id).then(TransactionCallbacks.afterTransaction(() -> areaCache.evict(id)));
+    }
+
+    /**
+     * Evict a written area from the cache once the transaction ends, so that it is not loaded again before the commit.
+     */
+    private Mono<Area> evict(Area area) {
+        return TransactionCallbacks.afterTransaction(() -> areaCache.evict(area.getId())).thenReturn(area);
     }
 }
@@ -1,18 +1,42 @@
 package com.mycompany.myapp.service;
 
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.domain.Curso;
+import com.mycompany.myapp.domain.criteria.CursoCriteria;
 import com.mycompany.myapp.domain.enumeration.StatusCurso;
 import com.mycompany.myapp.repository.CursoRepository;
+import com.mycompany.myapp.repository.Keyset;
+import com.mycompany.myapp.repository.TableVersion;
+import com.mycompany.myapp.service.dto.BulkResultDTO;
 import com.mycompany.myapp.service.dto.CursoDTO;
+import com.mycompany.myapp.service.dto.CursoSummaryDTO;
 import com.mycompany.myapp.service.mapper.CursoMapper;
+import com.mycompany.myapp.service.mapper.CursoSummaryMapper;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 /**
  * Service Implementation for managing {@link Curso}.
@@ -27,9 +51,28 @@ public class CursoService {
 
     private final CursoMapper cursoMapper;
 
-    public CursoService(CursoRepository cursoRepository, CursoMapper cursoMapper) {
+    private final CursoSummaryMapper cursoSummaryMapper;
+
+    private final Validator validator;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final TransactionalOperator transactionalOperator;
+
+    public CursoService(
+        CursoRepository cursoRepository,
+        CursoMapper cursoMapper,
+        CursoSummaryMapper cursoSummaryMapper,
+        Validator validator,
+        ApplicationProperties applicationProperties,
+        TransactionalOperator transactionalOperator
+    ) {
         this.cursoRepository = cursoRepository;
         this.cursoMapper = cursoMapper;
+        this.cursoSummaryMapper = cursoSummaryMapper;
+        this.validator = validator;
+        this.applicationProperties = applicationProperties;
+        this.transactionalOperator = transactionalOperator;
     }
 
     /**
@@ -46,7 +89,7 @@ public class CursoService {
                 if (isDuplicado) {
                     return Mono.error(new RuntimeException("O curso: '" + cursoDTO.getNome() + "' já existe."));
                 } else {
-                    return cursoRepository.save(cursoMapper.toEntity(cursoDTO)).map(cursoMapper::toDto);
+                    return cursoRepository.save(cursoMapper.toEntity(cursoDTO).versao(null)).map(cursoMapper::toDto);
                 }
             });
     }
@@ -59,23 +102,24 @@ public class CursoService {
      * @return Mono<Boolean> indicando se o nome já existe.
      */
     public Mono<Boolean> isNomeDuplicado(String nome, Long id) {
-        return cursoRepository.findAll().filter(curso -> curso.getNome().equalsIgnoreCase(nome) && !curso.getId().equals(id)).hasElements();
+        if (id == null) {
+            return cursoRepository.existsByNomeIgnoreCase(nome);
+        }
+        return cursoRepository.existsByNomeIgnoreCaseAndIdNot(nome, id);
     }
 
     /**
-     * Update a curso.
+     * Update a curso, with a single statement conditional on the version sent, which is required.
      *
      * @param cursoDTO the entity to save.
      * @return the persisted entity.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the curso was modified since its version was read,
+     * or if it does not exist.
      */
     public Mono<CursoDTO> update(CursoDTO cursoDTO) {
         log.debug("Request to update Curso : {}", cursoDTO);
 
-        if (cursoDTO.getStatus().equals(StatusCurso.INATIVO) && cursoDTO.getDataInatividade() == null) {
-            cursoDTO.setDataInatividade(Instant.now());
-        } else if (cursoDTO.getStatus().equals(StatusCurso.ATIVO) && cursoDTO.getDataInatividade() != null) {
-            cursoDTO.setDataInatividade(null);
-        }
+        updateDataInatividade(cursoDTO);
 
         return isNomeDuplicado(cursoDTO.getNome(), cursoDTO.getId())
             .flatMap(isDuplicado -> {
@@ -87,15 +131,220 @@ public class CursoService {
             });
     }
 
-    private String getOriginalNome(Long cursoId) {
-        return cursoRepository.findById(cursoId).map(Curso::getNome).defaultIfEmpty("").block();
+    /**
+     * Create or update the given cursos in bulk: the cursos without id are created, the others are updated, conditional on the
+     * version sent, which is required as for a single update.
+     * <p>
+     * The cursos are processed in chunks, each in its own transaction: the names of a chunk are checked for duplicates with a
+     * single query, then its cursos are written with one batched statement for the updates and one for the creations. When a
+     * write of the chunk still violates a constraint, such as a name taken concurrently, the transaction of the chunk is rolled
+     * back and its cursos are written one by one, the ones which violate a constraint being rejected.
+     *
+     * @param cursoDTOs the entities to save.
+     * @return the result of each entity, in the given order.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<BulkResultDTO> saveAll(Flux<CursoDTO> cursoDTOs) {
+        log.debug("Request to save Cursos in bulk");
+        return cursoDTOs.index().buffer(applicationProperties.getBulk().getChunkSize()).concatMap(this::saveChunk);
+    }
+
+    private Flux<BulkResultDTO> saveChunk(List<Tuple2<Long, CursoDTO>> chunk) {
+        Set<String> nomes = chunk
+            .stream()
+            .map(row -> row.getT2().getNome())
+            .filter(Objects::nonNull)
+            .map(CursoService::normalizeNome)
+            .collect(Collectors.toSet());
+        Mono<Map<String, Long>> existingNomes = nomes.isEmpty()
+            ? Mono.just(Map.of())
+            : cursoRepository.findAllByLowerNomeIn(nomes).collectMap(curso -> normalizeNome(curso.getNome()), Curso::getId);
+
+        return existingNomes.flatMapMany(existing -> {
+            // the names taken, in the database or by a previous curso of the chunk, with the id of their curso
+            Map<String, Long> takenNomes = new HashMap<>(existing);
+            List<BulkResultDTO> results = new ArrayList<>(chunk.size());
+            List<Curso> creations = new ArrayList<>();
+            List<BulkResultDTO> creationResults = new ArrayList<>();
+            List<Curso> updates = new ArrayList<>();
+            List<BulkResultDTO> updateResults = new ArrayList<>();
+
+            for (Tuple2<Long, CursoDTO> row : chunk) {
+                CursoDTO cursoDTO = row.getT2();
+                BulkResultDTO result = new BulkResultDTO(row.getT1(), cursoDTO.getId());
+                results.add(result);
+
+                Set<ConstraintViolation<CursoDTO>> violations = validator.validate(cursoDTO);
+                if (!violations.isEmpty()) {
+                    result.setStatus(BulkResultDTO.Status.INVALID);
+                    result.setMessage(
+                        violations
+                            .stream()
+                            .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining(", "))
+                    );
+                    continue;
+                }
+                if (cursoDTO.getId() != null && cursoDTO.getVersao() == null) {
+                    result.setStatus(BulkResultDTO.Status.INVALID);
+                    result.setMessage("Versão não informada.");
+                    continue;
+                }
+                String nome = normalizeNome(cursoDTO.getNome());
+                if (takenNomes.containsKey(nome) && (cursoDTO.getId() == null || !cursoDTO.getId().equals(takenNomes.get(nome)))) {
+                    result.setStatus(BulkResultDTO.Status.DUPLICATE);
+                    result.setMessage("O curso: '" + cursoDTO.getNome() + "' já existe.");
+                    continue;
+                }
+                takenNomes.put(nome, cursoDTO.getId());
+
+                if (cursoDTO.getId() == null) {
+                    creations.add(cursoMapper.toEntity(cursoDTO));
+                    creationResults.add(result);
+                } else {
+                    updateDataInatividade(cursoDTO);
+                    updates.add(cursoMapper.toEntity(cursoDTO));
+                    updateResults.add(result);
+                }
+            }
+
+            // a name released by an update of the chunk is still taken for its creations, which are written after the updates
+            return writeChunk(updates, updateResults, creations, creationResults)
+                .as(transactionalOperator::transactional)
+                .onErrorResume(
+                    DataIntegrityViolationException.class,
+                    e -> {
+                        log.debug("Writing the chunk of cursos failed, writing them one by one: {}", e.getMessage());
+                        return writeRowByRow(updates, updateResults, creations, creationResults);
+                    }
+                )
+                .thenMany(Flux.fromIterable(results));
+        });
+    }
+
+    private Mono<Void> writeChunk(
+        List<Curso> updates,
+        List<BulkResultDTO> updateResults,
+        List<Curso> creations,
+        List<BulkResultDTO> creationResults
+    ) {
+        return cursoRepository
+            .updateAll(updates)
+            .zipWithIterable(updateResults, this::setUpdated)
+            .then(setConflicts(updateResults))
+            .thenMany(cursoRepository.insertAll(creations).zipWithIterable(creationResults, this::setCreated))
+            .then();
+    }
+
+    private Mono<Void> writeRowByRow(
+        List<Curso> updates,
+        List<BulkResultDTO> updateResults,
+        List<Curso> creations,
+        List<BulkResultDTO> creationResults
+    ) {
+        // the ids generated by the rolled back creations are discarded
+        creations.forEach(curso -> curso.setId(null));
+        creationResults.forEach(result -> result.setId(null));
+        return Flux
+            .range(0, updates.size())
+            .concatMap(i -> writeRow(updates.get(i), updateResults.get(i), this::update))
+            .thenMany(Flux.range(0, creations.size()).concatMap(i -> writeRow(creations.get(i), creationResults.get(i), this::create)))
+            .then();
+    }
+
+    private Mono<BulkResultDTO> update(Curso curso, BulkResultDTO result) {
+        return cursoRepository
+            .updateAll(List.of(curso))
+            .next()
+            .map(updated -> setUpdated(updated, result))
+            .flatMap(updatedResult -> setConflicts(List.of(updatedResult)).thenReturn(updatedResult));
+    }
+
+    private Mono<BulkResultDTO> create(Curso curso, BulkResultDTO result) {
+        return cursoRepository.insertAll(List.of(curso)).next().map(created -> setCreated(created, result));
+    }
+
+    /**
+     * Writes a single curso in its own transaction, rejecting it if it violates a constraint.
+     */
+    private Mono<BulkResultDTO> writeRow(Curso curso, BulkResultDTO result, BiFunction<Curso, BulkResultDTO, Mono<BulkResultDTO>> write) {
+        return write
+            .apply(curso, result)
+            .as(transactionalOperator::transactional)
+            .onErrorResume(DataIntegrityViolationException.class, e -> setRejected(curso, result));
+    }
+
+    private BulkResultDTO setUpdated(Integer updated, BulkResultDTO result) {
+        result.setStatus(updated > 0 ? BulkResultDTO.Status.UPDATED : BulkResultDTO.Status.NOT_FOUND);
+        return result;
+    }
+
+    /**
+     * Tells the cursos which were not updated, because their version changed since it was read, from the ones which do not exist.
+     */
+    private Mono<Void> setConflicts(List<BulkResultDTO> updateResults) {
+        Map<Long, List<BulkResultDTO>> notUpdated = updateResults
+            .stream()
+            .filter(result -> result.getStatus() == BulkResultDTO.Status.NOT_FOUND)
+            .collect(Collectors.groupingBy(BulkResultDTO::getId));
+        if (notUpdated.isEmpty()) {
+            return Mono.empty();
+        }
+        return cursoRepository
+            .findIdsByIdIn(notUpdated.keySet())
+            .doOnNext(id ->
+                notUpdated
+                    .get(id)
+                    .forEach(result -> {
+                        result.setStatus(BulkResultDTO.Status.CONFLICT);
+                        result.setMessage("O curso foi modificado desde a leitura da sua versão.");
+                    })
+            )
+            .then();
+    }
+
+    private BulkResultDTO setCreated(Curso created, BulkResultDTO result) {
+        result.setId(created.getId());
+        result.setStatus(BulkResultDTO.Status.CREATED);
+        return result;
     }
 
     /**
-     * Partially update a curso.
+     * Rejects a curso whose write violated a constraint: as a duplicate if its name is now taken, as invalid otherwise.
+     */
+    private Mono<BulkResultDTO> setRejected(Curso curso, BulkResultDTO result) {
+        return isNomeDuplicado(curso.getNome(), curso.getId())
+            .map(isDuplicado -> {
+                if (isDuplicado) {
+                    result.setStatus(BulkResultDTO.Status.DUPLICATE);
+                    result.setMessage("O curso: '" + curso.getNome() + "' já existe.");
+                } else {
+                    result.setStatus(BulkResultDTO.Status.INVALID);
+                    result.setMessage("O curso viola uma restrição de integridade.");
+                }
+                return result;
+            });
+    }
+
+    private static String normalizeNome(String nome) {
+        return nome.toLowerCase(Locale.ROOT);
+    }
+
+    private static void updateDataInatividade(CursoDTO cursoDTO) {
+        if (cursoDTO.getStatus().equals(StatusCurso.INATIVO) && cursoDTO.getDataInatividade() == null) {
+            cursoDTO.setDataInatividade(Instant.now());
+        } else if (cursoDTO.getStatus().equals(StatusCurso.ATIVO) && cursoDTO.getDataInatividade() != null) {
+            cursoDTO.setDataInatividade(null);
+        }
+    }
+
+    /**
+     * Partially update a curso, with a statement conditional on the version read, or on the version sent if any.
      *
      * @param cursoDTO the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or empty if the curso does not exist.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the curso was modified since its version was read.
      */
     public Mono<CursoDTO> partialUpdate(CursoDTO cursoDTO) {
         log.debug("Request to partially update Curso : {}", cursoDTO);
@@ -112,15 +361,105 @@ public class CursoService {
     }
 
     /**
-     * Get all the cursos.
+     * Get the cursos matching the criteria.
      *
+     * @param criteria the filtering criteria.
      * @param pageable the pagination information.
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public Flux<CursoDTO> findAll(Pageable pageable) {
-        log.debug("Request to get all Cursos");
-        return cursoRepository.findAllBy(pageable).map(cursoMapper::toDto);
+    public Flux<CursoDTO> findByCriteria(CursoCriteria criteria, Pageable pageable) {
+        log.debug("Request to get all Cursos by criteria: {}", criteria);
+        return cursoRepository.findAllBy(pageable, criteria).map(cursoMapper::toDto);
+    }
+
+    /**
+     * Get the cursos matching the criteria, as a stream.
+     *
+     * @param criteria the filtering criteria.
+     * @return the stream of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<CursoDTO> streamByCriteria(CursoCriteria criteria) {
+        log.debug("Request to stream Cursos by criteria: {}", criteria);
+        return cursoRepository.findAllBy(criteria).map(cursoMapper::toDto);
+    }
+
+    /**
+     * Get a page of the cursos matching the criteria, along with the total number of matching cursos, in a single query.
+     *
+     * @param criteria the filtering criteria.
+     * @param pageable the pagination information.
+     * @return the page of entities.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Page<CursoDTO>> findPageByCriteria(CursoCriteria criteria, Pageable pageable) {
+        log.debug("Request to get a page of Cursos by criteria: {}", criteria);
+        return cursoRepository.findPageBy(pageable, criteria).map(page -> page.map(cursoMapper::toDto));
+    }
+
+    /**
+     * Get the summaries of the cursos matching the criteria, reading only the columns shown in the lists.
+     *
+     * @param criteria the filtering criteria.
+     * @param pageable the pagination information.
+     * @return the list of summaries.
+     */
+    @Transactional(readOnly = true)
+    public Flux<CursoSummaryDTO> findSummariesByCriteria(CursoCriteria criteria, Pageable pageable) {
+        log.debug("Request to get the summaries of Cursos by criteria: {}", criteria);
+        return cursoRepository.findSummariesBy(pageable, criteria).map(cursoSummaryMapper::toDto);
+    }
+
+    /**
+     * Get a page of the summaries of the cursos matching the criteria, along with the total number of matching cursos.
+     *
+     * @param criteria the filtering criteria.
+     * @param pageable the pagination information.
+     * @return the page of summaries.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Page<CursoSummaryDTO>> findSummaryPageByCriteria(CursoCriteria criteria, Pageable pageable) {
+        log.debug("Request to get a page of the summaries of Cursos by criteria: {}", criteria);
+        return cursoRepository.findSummaryPageBy(pageable, criteria).map(page -> page.map(cursoSummaryMapper::toDto));
+    }
+
+    /**
+     * Count the cursos matching the criteria.
+     *
+     * @param criteria the filtering criteria.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Long> countByCriteria(CursoCriteria criteria) {
+        log.debug("Request to count Cursos by criteria: {}", criteria);
+        return cursoRepository.countBy(criteria);
+    }
+
+    /**
+     * Get a page of the cursos matching the criteria, following the given keyset.
+     *
+     * @param criteria the filtering criteria.
+     * @param keyset the keyset pagination information.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<CursoDTO> findByCriteria(CursoCriteria criteria, Keyset keyset) {
+        log.debug("Request to get a keyset page of Cursos by criteria: {}", criteria);
+        return cursoRepository.findAllBy(keyset, criteria).map(cursoMapper::toDto);
+    }
+
+    /**
+     * Search the cursos by the words of their name and description, the most relevant first.
+     *
+     * @param query the search query.
+     * @param keyset the keyset pagination information, on the relevance.
+     * @return the list of entities, along with their relevance.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Tuple2<CursoDTO, Float>> search(String query, Keyset keyset) {
+        log.debug("Request to search a keyset page of Cursos for query {}", query);
+        return cursoRepository.search(query, keyset).map(result -> Tuples.of(cursoMapper.toDto(result.getT1()), result.getT2()));
     }
 
     /**
@@ -132,6 +471,27 @@ public class CursoService {
         return cursoRepository.count();
     }
 
+    /**
+     * Get the last modification date of a curso, or of its area if the area was modified later.
+     *
+     * @param id the id of the entity.
+     * @return the last modification date, or empty if the curso does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Instant> findLastModified(Long id) {
+        return cursoRepository.findLastModifiedById(id);
+    }
+
+    /**
+     * Get the version of the cursos and their areas, which changes whenever a curso or an area is written or deleted.
+     *
+     * @return the version of the curso and area tables.
+     */
+    @Transactional(readOnly = true)
+    public Mono<TableVersion> findTableVersion() {
+        return cursoRepository.findTableVersion();
+    }
+
     /**
      * Get one curso by id.
      *
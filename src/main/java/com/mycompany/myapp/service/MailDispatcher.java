@@ -0,0 +1,278 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+/**
+ * Sends the mails of the application from a bounded in-memory queue, off the shared task executor.
+ * <p>
+ * The queued messages are sent by batches, each batch over a single SMTP connection, by a few connections at most and at a
+ * limited rate. The messages of a batch which could not be sent are sent again with an exponential backoff, and dropped
+ * after the last attempt. A message is rejected when the queue is full, the messages being sent counting in the queue
+ * until their batch completes, so that the batches waiting for a connection are bounded as well. The outcome of a message
+ * is signaled to the callers which {@link #deliver(MimeMessage) wait for it}, and the message of a caller which stopped
+ * waiting for it is not sent, the caller being in charge of sending it again.
+ * <p>
+ * The queue depth is measured by the {@code mail.queue} meter, the latency of the batches by the {@code mail.send} meter, and
+ * the outcome of the messages by the {@code mail.messages} meter.
+ */
+@Component
+public class MailDispatcher implements DisposableBean {
+
+    public static final String QUEUE_METER_NAME = "mail.queue";
+    public static final String SEND_METER_NAME = "mail.send";
+    public static final String MESSAGES_METER_NAME = "mail.messages";
+    public static final String RESULT_DIMENSION = "result";
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final Logger log = LoggerFactory.getLogger(MailDispatcher.class);
+
+    private final JavaMailSender javaMailSender;
+
+    private final ApplicationProperties.Mail mailProperties;
+
+    private final Sinks.Many<Mail> queue;
+
+    private final AtomicInteger queueSize = new AtomicInteger();
+
+    private final Scheduler scheduler;
+
+    private final CountDownLatch drained = new CountDownLatch(1);
+
+    private final Timer sendSuccessTimer;
+    private final Timer sendFailureTimer;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private final Counter cancelledCounter;
+
+    public MailDispatcher(JavaMailSender javaMailSender, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.javaMailSender = javaMailSender;
+        this.mailProperties = applicationProperties.getMail();
+        // the sink outlives its subscriber, so that the dispatch resumes after an unexpected error
+        this.queue = Sinks.many().multicast().onBackpressureBuffer(mailProperties.getQueueCapacity(), false);
+        this.scheduler = Schedulers.newBoundedElastic(mailProperties.getConnections(), Integer.MAX_VALUE, "mail");
+
+        Gauge
+            .builder(QUEUE_METER_NAME, queueSize, AtomicInteger::get)
+            .description("Indicates the mails waiting to be sent.")
+            .register(meterRegistry);
+        this.sendSuccessTimer = sendTimerBuilder("success").register(meterRegistry);
+        this.sendFailureTimer = sendTimerBuilder("failure").register(meterRegistry);
+        this.sentCounter = messagesCounterBuilder("sent").register(meterRegistry);
+        this.failedCounter = messagesCounterBuilder("failed").register(meterRegistry);
+        this.rejectedCounter = messagesCounterBuilder("rejected").register(meterRegistry);
+        this.cancelledCounter = messagesCounterBuilder("cancelled").register(meterRegistry);
+
+        Flux<Mail> messages = queue.asFlux();
+        if (mailProperties.getRateLimit() > 0) {
+            messages = messages.delayElements(Duration.ofSeconds(1).dividedBy(mailProperties.getRateLimit()));
+        }
+        messages
+            .bufferTimeout(mailProperties.getBatchSize(), mailProperties.getBatchTimeout())
+            // bufferTimeout ignores the demand, the batches wait here for a connection
+            .onBackpressureBuffer(mailProperties.getQueueCapacity())
+            .flatMap(this::send, mailProperties.getConnections())
+            .doOnDiscard(Mail.class, mail -> discard(List.of(mail)))
+            .doOnDiscard(List.class, this::discard)
+            .doOnError(e -> log.error("Emails could not be dispatched, resuming", e))
+            .retry()
+            .doFinally(signal -> drained.countDown())
+            .subscribe();
+    }
+
+    private static Timer.Builder sendTimerBuilder(String result) {
+        return Timer
+            .builder(SEND_METER_NAME)
+            .description("Indicates the latency of the batches of mails sent.")
+            .tag(RESULT_DIMENSION, result);
+    }
+
+    private static Counter.Builder messagesCounterBuilder(String result) {
+        return Counter.builder(MESSAGES_METER_NAME).description("Indicates the outcome of the mails.").tag(RESULT_DIMENSION, result);
+    }
+
+    /**
+     * Queue a message to be sent.
+     *
+     * @param message the message.
+     * @return true if the message is queued, false if the queue is full.
+     */
+    public boolean dispatch(MimeMessage message) {
+        return enqueue(new Mail(message, null));
+    }
+
+    /**
+     * Queue a message to be sent, and wait for it.
+     *
+     * @param message the message.
+     * @return completes when the message is sent, or fails when the queue is full or the message is dropped after the last
+     * attempt. Once cancelled, the message is not sent anymore, unless it is being sent.
+     */
+    public Mono<Void> deliver(MimeMessage message) {
+        return Mono.defer(() -> {
+            Mail mail = new Mail(message, Sinks.empty());
+            if (!enqueue(mail)) {
+                return Mono.error(new MailSendException("The mail queue is full"));
+            }
+            return mail.outcome.asMono().doOnCancel(mail::cancel);
+        });
+    }
+
+    private boolean enqueue(Mail mail) {
+        Sinks.EmitResult result;
+        synchronized (queue) {
+            if (queueSize.get() >= mailProperties.getQueueCapacity()) {
+                result = Sinks.EmitResult.FAIL_OVERFLOW;
+            } else {
+                result = queue.tryEmitNext(mail);
+                if (result.isSuccess()) {
+                    queueSize.incrementAndGet();
+                }
+            }
+        }
+        if (result.isFailure()) {
+            rejectedCounter.increment();
+            log.warn("Email could not be queued: {}", result);
+            return false;
+        }
+        return true;
+    }
+
+    private void discard(List<?> mails) {
+        queueSize.addAndGet(-mails.size());
+        failedCounter.increment(mails.size());
+        MailSendException e = new MailSendException("The email was discarded");
+        mails.forEach(mail -> ((Mail) mail).failed(e));
+    }
+
+    private Mono<Void> send(List<Mail> batch) {
+        List<Mail> remaining = new ArrayList<>(batch);
+        return Mono
+            .fromRunnable(() -> sendRemaining(remaining))
+            .subscribeOn(scheduler)
+            .retryWhen(
+                Retry.backoff(mailProperties.getMaxRetries(), mailProperties.getRetryBackoff()).filter(MailSendException.class::isInstance)
+            )
+            .onErrorResume(e -> {
+                failedCounter.increment(remaining.size());
+                log.warn("{} emails could not be sent", remaining.size(), e);
+                remaining.forEach(mail -> mail.failed(e));
+                return Mono.empty();
+            })
+            .doFinally(signal -> queueSize.addAndGet(-batch.size()))
+            .then();
+    }
+
+    /**
+     * Send the messages of a batch over a single connection, keeping the ones which failed for the next attempt.
+     */
+    private void sendRemaining(List<Mail> remaining) {
+        int waiting = remaining.size();
+        remaining.removeIf(mail -> mail.cancelled);
+        if (remaining.size() < waiting) {
+            cancelledCounter.increment(waiting - remaining.size());
+            log.debug("{} emails were cancelled before being sent", waiting - remaining.size());
+        }
+        if (remaining.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        int count = remaining.size();
+        try {
+            if (count == 1) {
+                javaMailSender.send(remaining.get(0).message);
+            } else {
+                javaMailSender.send(remaining.stream().map(mail -> mail.message).toArray(MimeMessage[]::new));
+            }
+            sendSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            sentCounter.increment(count);
+            remaining.forEach(Mail::sent);
+            remaining.clear();
+            log.debug("Sent {} emails", count);
+        } catch (MailException e) {
+            sendFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            Map<Object, Exception> failedMessages = e instanceof MailSendException ? ((MailSendException) e).getFailedMessages() : null;
+            if (failedMessages != null && !failedMessages.isEmpty()) {
+                remaining.removeIf(mail -> {
+                    if (failedMessages.containsKey(mail.message)) {
+                        return false;
+                    }
+                    mail.sent();
+                    return true;
+                });
+            }
+            sentCounter.increment(count - remaining.size());
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        synchronized (queue) {
+            queue.tryEmitComplete();
+        }
+        if (!drained.await(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("{} emails were not sent before shutdown", queueSize.get());
+        }
+        scheduler.dispose();
+    }
+
+    /**
+     * A queued message, and the outcome signaled to the caller waiting for it, if any.
+     */
+    private static final class Mail {
+
+        private final MimeMessage message;
+
+        private final Sinks.Empty<Void> outcome;
+
+        private volatile boolean cancelled;
+
+        private Mail(MimeMessage message, Sinks.Empty<Void> outcome) {
+            this.message = message;
+            this.outcome = outcome;
+        }
+
+        private void sent() {
+            if (outcome != null) {
+                outcome.tryEmitEmpty();
+            }
+        }
+
+        private void failed(Throwable e) {
+            if (outcome != null) {
+                outcome.tryEmitError(e);
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.MailOutbox;
+import com.mycompany.myapp.repository.MailOutboxRepository;
+import com.mycompany.myapp.repository.UserRepository;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Relays the mails of the {@link MailOutbox} to the {@link MailDispatcher}, in the background.
+ * <p>
+ * The mails are written in the transactions which change the users, so that a mail is not lost when the node stops
+ * before sending it, and the requests do not wait for the mails. Each batch of mails is claimed in a short transaction, the
+ * mails locked by the other nodes being skipped, then sent out of it. A mail is deleted once sent, and otherwise left in the
+ * outbox for a next attempt, with an exponential backoff, until its last attempt.
+ */
+@Component
+public class MailOutboxRelay {
+
+    /**
+     * Bounds the exponential backoff, to about 11 days with the default backoff.
+     */
+    private static final int MAX_BACKOFF_SHIFT = 14;
+
+    private final Logger log = LoggerFactory.getLogger(MailOutboxRelay.class);
+
+    private final MailOutboxRepository mailOutboxRepository;
+
+    private final UserRepository userRepository;
+
+    private final MailService mailService;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final int batchSize;
+
+    private final Duration lease;
+
+    private final int maxAttempts;
+
+    private final Duration retryBackoff;
+
+    private final AtomicBoolean relaying = new AtomicBoolean();
+
+    public MailOutboxRelay(
+        MailOutboxRepository mailOutboxRepository,
+        UserRepository userRepository,
+        MailService mailService,
+        TransactionalOperator transactionalOperator,
+        ApplicationProperties applicationProperties
+    ) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.userRepository = userRepository;
+        this.mailService = mailService;
+        this.transactionalOperator = transactionalOperator;
+        ApplicationProperties.Mail.Outbox outboxProperties = applicationProperties.getMail().getOutbox();
+        this.batchSize = outboxProperties.getBatchSize();
+        this.lease = outboxProperties.getLease();
+        this.maxAttempts = outboxProperties.getMaxAttempts();
+        this.retryBackoff = outboxProperties.getRetryBackoff();
+    }
+
+    /**
+     * Mails in the outbox are relayed every {@code application.mail.outbox.poll-interval}, the previous relay being
+     * complete.
+     */
+    @Scheduled(fixedDelayString = "${application.mail.outbox.poll-interval:PT5S}")
+    public void relay() {
+        if (!relaying.compareAndSet(false, true)) {
+            return;
+        }
+        relayReactively()
+            .doFinally(signal -> relaying.set(false))
+            .subscribe(
+                count -> {
+                    if (count > 0) {
+                        log.debug("Sent {} emails from the outbox", count);
+                    }
+                },
+                e -> log.error("Emails of the outbox could not be relayed", e)
+            );
+    }
+
+    /**
+     * Relay the mails of the outbox, batch after batch, until no mail is due, each batch being sent before the next one is
+     * claimed.
+     *
+     * @return the number of sent mails.
+     */
+    public Mono<Long> relayReactively() {
+        return relayBatch()
+            .expand(sent -> sent.size() == batchSize ? relayBatch() : Mono.empty())
+            .flatMapIterable(Function.identity())
+            .filter(Boolean::booleanValue)
+            .count();
+    }
+
+    /**
+     * @return for each claimed mail, true if it is sent.
+     */
+    private Mono<List<Boolean>> relayBatch() {
+        return mailOutboxRepository
+            .claimNext(batchSize, lease, maxAttempts)
+            .collectList()
+            .as(transactionalOperator::transactional)
+            .flatMap(mails -> Flux.fromIterable(mails).flatMap(this::relay, batchSize).collectList());
+    }
+
+    private Mono<Boolean> relay(MailOutbox mail) {
+        return userRepository
+            .findById(mail.getUserId())
+            // rendering the template reads the classpath
+            .publishOn(Schedulers.boundedElastic())
+            .flatMap(user -> mailService.deliverEmailFromTemplate(user, mail.getTemplateName(), mail.getTitleKey()))
+            // the mail is claimed again after the lease, the timeout cancelling its delivery so that it is not sent twice
+            .timeout(lease)
+            .then(mailOutboxRepository.deleteById(mail.getId()))
+            .thenReturn(true)
+            .onErrorResume(e -> retryLater(mail, e));
+    }
+
+    private Mono<Boolean> retryLater(MailOutbox mail, Throwable e) {
+        if (mail.getAttempts() >= maxAttempts) {
+            log.error("Email {} could not be sent after {} attempts, it is left in the outbox", mail.getId(), mail.getAttempts(), e);
+            return Mono.just(false);
+        }
+        log.warn("Email {} could not be sent at attempt {}: {}", mail.getId(), mail.getAttempts(), e.toString());
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(mail.getAttempts() - 1, MAX_BACKOFF_SHIFT));
+        return mailOutboxRepository.retryLater(mail.getId(), backoff).thenReturn(false);
+    }
+}
@@ -7,51 +7,58 @@ import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.MessageSource;
-import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring5.SpringTemplateEngine;
+import reactor.core.publisher.Mono;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
  * Service for sending emails.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * We use the {@link Async} annotation to render the templated emails asynchronously, from the {@link MailTemplates}, and the
+ * {@link MailDispatcher} to send them.
  */
 @Service
 public class MailService {
 
-    private final Logger log = LoggerFactory.getLogger(MailService.class);
+    public static final String ACTIVATION_TEMPLATE = "mail/activationEmail";
+
+    public static final String ACTIVATION_TITLE_KEY = "email.activation.title";
+
+    public static final String CREATION_TEMPLATE = "mail/creationEmail";
 
-    private static final String USER = "user";
+    public static final String PASSWORD_RESET_TEMPLATE = "mail/passwordResetEmail";
 
-    private static final String BASE_URL = "baseUrl";
+    public static final String PASSWORD_RESET_TITLE_KEY = "email.reset.title";
+
+    private final Logger log = LoggerFactory.getLogger(MailService.class);
 
     private final JHipsterProperties jHipsterProperties;
 
     private final JavaMailSender javaMailSender;
 
-    private final MessageSource messageSource;
+    private final MailTemplates mailTemplates;
 
-    private final SpringTemplateEngine templateEngine;
+    private final MailDispatcher mailDispatcher;
 
     public MailService(
         JHipsterProperties jHipsterProperties,
         JavaMailSender javaMailSender,
-        MessageSource messageSource,
-        SpringTemplateEngine templateEngine
+        MailTemplates mailTemplates,
+        MailDispatcher mailDispatcher
     ) {
         this.jHipsterProperties = jHipsterProperties;
         this.javaMailSender = javaMailSender;
-        this.messageSource = messageSource;
-        this.templateEngine = templateEngine;
+        this.mailTemplates = mailTemplates;
+        this.mailDispatcher = mailDispatcher;
     }
 
-    @Async
+    /**
+     * Queue an email to be sent by the {@link MailDispatcher}.
+     */
     public void sendEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
         log.debug(
             "Send email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
@@ -62,21 +69,28 @@ public class MailService {
             content
         );
 
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
         try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(to);
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
-            javaMailSender.send(mimeMessage);
-            log.debug("Sent email to User '{}'", to);
-        } catch (MailException | MessagingException e) {
+            MimeMessage mimeMessage = createMessage(to, subject, content, isMultipart, isHtml);
+            if (mailDispatcher.dispatch(mimeMessage)) {
+                log.debug("Queued email to User '{}'", to);
+            }
+        } catch (MessagingException e) {
             log.warn("Email could not be sent to user '{}'", to, e);
         }
     }
 
+    private MimeMessage createMessage(String to, String subject, String content, boolean isMultipart, boolean isHtml)
+        throws MessagingException {
+        // Prepare message using a Spring helper
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
+        message.setTo(to);
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(subject);
+        message.setText(content, isHtml);
+        return mimeMessage;
+    }
+
     @Async
     public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
         if (user.getEmail() == null) {
@@ -84,29 +98,44 @@ public class MailService {
             return;
         }
         Locale locale = Locale.forLanguageTag(user.getLangKey());
-        Context context = new Context(locale);
-        context.setVariable(USER, user);
-        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
-        String content = templateEngine.process(templateName, context);
-        String subject = messageSource.getMessage(titleKey, null, locale);
-        sendEmail(user.getEmail(), subject, content, false, true);
+        MailTemplates.MailTemplate template = mailTemplates.get(templateName, titleKey, locale);
+        sendEmail(user.getEmail(), template.getSubject(), template.render(user), false, true);
+    }
+
+    /**
+     * Render a templated email, in the calling thread, and send it by the {@link MailDispatcher}.
+     *
+     * @return completes when the email is sent, or fails when it could not be sent.
+     */
+    public Mono<Void> deliverEmailFromTemplate(User user, String templateName, String titleKey) {
+        if (user.getEmail() == null) {
+            log.debug("Email doesn't exist for user '{}'", user.getLogin());
+            return Mono.empty();
+        }
+        Locale locale = Locale.forLanguageTag(user.getLangKey());
+        MailTemplates.MailTemplate template = mailTemplates.get(templateName, titleKey, locale);
+        try {
+            return mailDispatcher.deliver(createMessage(user.getEmail(), template.getSubject(), template.render(user), false, true));
+        } catch (MessagingException e) {
+            return Mono.error(new MailPreparationException(e));
+        }
     }
 
     @Async
     public void sendActivationEmail(User user) {
         log.debug("Sending activation email to '{}'", user.getEmail());
-        sendEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
+        sendEmailFromTemplate(user, ACTIVATION_TEMPLATE, ACTIVATION_TITLE_KEY);
     }
 
     @Async
     public void sendCreationEmail(User user) {
         log.debug("Sending creation email to '{}'", user.getEmail());
-        sendEmailFromTemplate(user, "mail/creationEmail", "email.activation.title");
+        sendEmailFromTemplate(user, CREATION_TEMPLATE, ACTIVATION_TITLE_KEY);
     }
 
     @Async
     public void sendPasswordResetMail(User user) {
         log.debug("Sending password reset email to '{}'", user.getEmail());
-        sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
+        sendEmailFromTemplate(user, PASSWORD_RESET_TEMPLATE, PASSWORD_RESET_TITLE_KEY);
     }
 }
@@ -0,0 +1,203 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.User;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.unbescape.html.HtmlEscape;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * The templates of the mails sent to the users, rendered once per template and locale.
+ * <p>
+ * A template is first rendered for a placeholder user whose fields are markers, and the content is split around the markers:
+ * rendering the template for a user then only joins the static parts with the escaped fields of the user, instead of
+ * processing the template again. A template which does more than output the fields of the user, such as testing or
+ * transforming them, renders differently for a sample user, and is then processed for every mail.
+ * <p>
+ * The templates are not cached when the Thymeleaf cache is disabled, in development.
+ */
+@Component
+public class MailTemplates {
+
+    private static final String USER = "user";
+
+    private static final String BASE_URL = "baseUrl";
+
+    private static final Pattern MARKER_PATTERN = Pattern.compile(
+        Stream.of(UserField.values()).map(UserField::marker).collect(Collectors.joining("|"))
+    );
+
+    private final Logger log = LoggerFactory.getLogger(MailTemplates.class);
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final MessageSource messageSource;
+
+    private final SpringTemplateEngine templateEngine;
+
+    private final boolean cache;
+
+    private final Map<String, MailTemplate> templates = new ConcurrentHashMap<>();
+
+    public MailTemplates(
+        JHipsterProperties jHipsterProperties,
+        MessageSource messageSource,
+        SpringTemplateEngine templateEngine,
+        ThymeleafProperties thymeleafProperties
+    ) {
+        this.jHipsterProperties = jHipsterProperties;
+        this.messageSource = messageSource;
+        this.templateEngine = templateEngine;
+        this.cache = thymeleafProperties.isCache();
+    }
+
+    /**
+     * Get a mail template.
+     *
+     * @param templateName the name of the template.
+     * @param titleKey the message key of the subject.
+     * @param locale the locale of the mail.
+     * @return the template.
+     */
+    public MailTemplate get(String templateName, String titleKey, Locale locale) {
+        if (!cache) {
+            return new MailTemplate(messageSource.getMessage(titleKey, null, locale), user -> process(templateName, locale, user));
+        }
+        String key = templateName + "|" + titleKey + "|" + locale.toLanguageTag();
+        return templates.computeIfAbsent(key, k -> compile(templateName, titleKey, locale));
+    }
+
+    private MailTemplate compile(String templateName, String titleKey, Locale locale) {
+        String subject = messageSource.getMessage(titleKey, null, locale);
+        String content = process(templateName, locale, createUser(locale, UserField::marker));
+
+        List<String> parts = new ArrayList<>();
+        List<UserField> fields = new ArrayList<>();
+        Matcher matcher = MARKER_PATTERN.matcher(content);
+        int start = 0;
+        while (matcher.find()) {
+            parts.add(content.substring(start, matcher.start()));
+            fields.add(UserField.ofMarker(matcher.group()));
+            start = matcher.end();
+        }
+        parts.add(content.substring(start));
+        Function<User, String> renderer = user -> join(parts, fields, user);
+
+        User sample = createUser(locale, UserField::sample);
+        if (!renderer.apply(sample).equals(process(templateName, locale, sample))) {
+            log.warn("Mail template '{}' does not only output the fields of the user, it is processed for every mail", templateName);
+            renderer = user -> process(templateName, locale, user);
+        }
+        return new MailTemplate(subject, renderer);
+    }
+
+    private String process(String templateName, Locale locale, User user) {
+        Context context = new Context(locale);
+        context.setVariable(USER, user);
+        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
+        return templateEngine.process(templateName, context);
+    }
+
+    private static String join(List<String> parts, List<UserField> fields, User user) {
+        StringBuilder content = new StringBuilder(parts.stream().mapToInt(String::length).sum() + 32 * fields.size());
+        for (int i = 0; i < fields.size(); i++) {
+            content.append(parts.get(i));
+            String value = fields.get(i).getter.apply(user);
+            if (value != null) {
+                content.append(HtmlEscape.escapeHtml4Xml(value));
+            }
+        }
+        return content.append(parts.get(fields.size())).toString();
+    }
+
+    private static User createUser(Locale locale, Function<UserField, String> value) {
+        User user = new User();
+        user.setLangKey(locale.toLanguageTag());
+        for (UserField field : UserField.values()) {
+            field.setter.accept(user, value.apply(field));
+        }
+        return user;
+    }
+
+    /**
+     * A mail template, with its subject.
+     */
+    public static final class MailTemplate {
+
+        private final String subject;
+
+        private final Function<User, String> renderer;
+
+        private MailTemplate(String subject, Function<User, String> renderer) {
+            this.subject = subject;
+            this.renderer = renderer;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        /**
+         * Render the content of the mail for a user.
+         *
+         * @param user the recipient of the mail.
+         * @return the content of the mail.
+         */
+        public String render(User user) {
+            return renderer.apply(user);
+        }
+    }
+
+    /**
+     * The fields of the user which the templates can output.
+     */
+    private enum UserField {
+        LOGIN(User::getLogin, User::setLogin),
+        FIRST_NAME(User::getFirstName, User::setFirstName),
+        LAST_NAME(User::getLastName, User::setLastName),
+        EMAIL(User::getEmail, User::setEmail),
+        IMAGE_URL(User::getImageUrl, User::setImageUrl),
+        ACTIVATION_KEY(User::getActivationKey, User::setActivationKey),
+        RESET_KEY(User::getResetKey, User::setResetKey);
+
+        private final Function<User, String> getter;
+
+        private final BiConsumer<User, String> setter;
+
+        UserField(Function<User, String> getter, BiConsumer<User, String> setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        private String marker() {
+            return "mailfield" + ordinal() + "marker";
+        }
+
+        /**
+         * A value with the characters escaped in the mails.
+         */
+        private String sample() {
+            return name().toLowerCase(Locale.ROOT) + "<&\"'é>";
+        }
+
+        private static UserField ofMarker(String marker) {
+            return values()[Integer.parseInt(marker.substring("mailfield".length(), marker.length() - "marker".length()))];
+        }
+    }
+}
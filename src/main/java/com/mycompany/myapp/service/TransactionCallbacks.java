@@ -0,0 +1,43 @@
+package com.mycompany.myapp.service;
+
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs actions once the current reactive transaction has ended.
+ * <p>
+ * The caches of written entities are evicted this way: evicted before the commit, an entity could be loaded again by another
+ * request from its committed state, and cached until its time to live.
+ */
+final class TransactionCallbacks {
+
+    private TransactionCallbacks() {}
+
+    /**
+     * Run an action once the current transaction is committed or rolled back, or right away outside of a transaction.
+     *
+     * @param action the action.
+     * @return completes when the action is registered, or run.
+     */
+    static Mono<Void> afterTransaction(Runnable action) {
+        return TransactionSynchronizationManager
+            .forCurrentTransaction()
+            .flatMap(synchronizationManager -> {
+                if (!synchronizationManager.isSynchronizationActive()) {
+                    return Mono.<Void>fromRunnable(action);
+                }
+                synchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCompletion(int status) {
+                            return Mono.fromRunnable(action);
+                        }
+                    }
+                );
+                return Mono.<Void>empty();
+            })
+            .onErrorResume(NoTransactionException.class, e -> Mono.fromRunnable(action));
+    }
+}
@@ -1,19 +1,30 @@
 package com.mycompany.myapp.service;
 
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.Authority;
+import com.mycompany.myapp.domain.MailOutbox;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.AuthorityRepository;
+import com.mycompany.myapp.repository.JobLockRepository;
+import com.mycompany.myapp.repository.MailOutboxRepository;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.DomainUserDetailsService;
+import com.mycompany.myapp.security.PasswordHashing;
 import com.mycompany.myapp.security.SecurityUtils;
 import com.mycompany.myapp.service.dto.AdminUserDTO;
 import com.mycompany.myapp.service.dto.UserDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
@@ -21,9 +32,12 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -32,18 +46,71 @@ import tech.jhipster.security.RandomUtil;
 @Service
 public class UserService {
 
+    public static final String NOT_ACTIVATED_USERS_LOCK = "remove-not-activated-users";
+
+    public static final String NOT_ACTIVATED_USERS_DELETED_METER_NAME = "users.not-activated.deleted";
+
+    public static final String NOT_ACTIVATED_USERS_CLEANUP_METER_NAME = "users.not-activated.cleanup";
+
     private final Logger log = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository userRepository;
 
     private final PasswordEncoder passwordEncoder;
 
+    private final PasswordHashing passwordHashing;
+
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    private final DomainUserDetailsService userDetailsService;
+
+    private final MailOutboxRepository mailOutboxRepository;
+
+    private final JobLockRepository jobLockRepository;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final int notActivatedUsersBatchSize;
+
+    private final Duration notActivatedUsersLockAtMostFor;
+
+    private final Counter notActivatedUsersDeletedCounter;
+
+    private final Timer notActivatedUsersCleanupTimer;
+
+    public UserService(
+        UserRepository userRepository,
+        PasswordEncoder passwordEncoder,
+        PasswordHashing passwordHashing,
+        AuthorityRepository authorityRepository,
+        DomainUserDetailsService userDetailsService,
+        MailOutboxRepository mailOutboxRepository,
+        JobLockRepository jobLockRepository,
+        TransactionalOperator transactionalOperator,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.passwordHashing = passwordHashing;
         this.authorityRepository = authorityRepository;
+        this.userDetailsService = userDetailsService;
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.jobLockRepository = jobLockRepository;
+        this.transactionalOperator = transactionalOperator;
+        ApplicationProperties.NotActivatedUsers notActivatedUsers = applicationProperties.getNotActivatedUsers();
+        this.notActivatedUsersBatchSize = notActivatedUsers.getBatchSize();
+        this.notActivatedUsersLockAtMostFor = notActivatedUsers.getLockAtMostFor();
+        this.notActivatedUsersDeletedCounter =
+            Counter
+                .builder(NOT_ACTIVATED_USERS_DELETED_METER_NAME)
+                .description("Indicates the not activated users deleted by the nightly cleanup.")
+                .register(meterRegistry);
+        this.notActivatedUsersCleanupTimer =
+            Timer
+                .builder(NOT_ACTIVATED_USERS_CLEANUP_METER_NAME)
+                .description("Indicates the duration of the nightly cleanup of the not activated users.")
+                .register(meterRegistry);
     }
 
     @Transactional
@@ -66,7 +133,7 @@ public class UserService {
         return userRepository
             .findOneByResetKey(key)
             .filter(user -> user.getResetDate().isAfter(Instant.now().minus(1, ChronoUnit.DAYS)))
-            .publishOn(Schedulers.boundedElastic())
+            .publishOn(passwordHashing.getScheduler())
             .map(user -> {
                 user.setPassword(passwordEncoder.encode(newPassword));
                 user.setResetKey(null);
@@ -87,7 +154,8 @@ public class UserService {
                 user.setResetDate(Instant.now());
                 return user;
             })
-            .flatMap(this::saveUser);
+            .flatMap(this::saveUser)
+            .flatMap(user -> queueEmail(user, MailService.PASSWORD_RESET_TEMPLATE, MailService.PASSWORD_RESET_TITLE_KEY));
     }
 
     @Transactional
@@ -109,7 +177,7 @@ public class UserService {
                     return Mono.error(new EmailAlreadyUsedException());
                 }
             })
-            .publishOn(Schedulers.boundedElastic())
+            .publishOn(passwordHashing.getScheduler())
             .then(
                 Mono.fromCallable(() -> {
                     User newUser = new User();
@@ -139,10 +207,24 @@ public class UserService {
                     .thenReturn(newUser)
                     .doOnNext(user -> user.setAuthorities(authorities))
                     .flatMap(this::saveUser)
+                    .flatMap(user -> queueEmail(user, MailService.ACTIVATION_TEMPLATE, MailService.ACTIVATION_TITLE_KEY))
                     .doOnNext(user -> log.debug("Created Information for User: {}", user));
             });
     }
 
+    /**
+     * Write a mail to the outbox, in the transaction of the change of the user, to be sent by the {@link MailOutboxRelay}.
+     */
+    private Mono<User> queueEmail(User user, String templateName, String titleKey) {
+        MailOutbox mail = new MailOutbox()
+            .userId(user.getId())
+            .templateName(templateName)
+            .titleKey(titleKey)
+            .createdDate(Instant.now())
+            .attempts(0);
+        return mailOutboxRepository.save(mail).thenReturn(user);
+    }
+
     @Transactional
     public Mono<User> createUser(AdminUserDTO userDTO) {
         User user = new User();
@@ -163,7 +245,7 @@ public class UserService {
             .flatMap(authorityRepository::findById)
             .doOnNext(authority -> user.getAuthorities().add(authority))
             .then(Mono.just(user))
-            .publishOn(Schedulers.boundedElastic())
+            .publishOn(passwordHashing.getScheduler())
             .map(newUser -> {
                 String encryptedPassword = passwordEncoder.encode(RandomUtil.generatePassword());
                 newUser.setPassword(encryptedPassword);
@@ -198,14 +280,13 @@ public class UserService {
                 user.setLangKey(userDTO.getLangKey());
                 Set<Authority> managedAuthorities = user.getAuthorities();
                 managedAuthorities.clear();
-                return userRepository
-                    .deleteUserAuthorities(user.getId())
-                    .thenMany(Flux.fromIterable(userDTO.getAuthorities()))
+                return Flux
+                    .fromIterable(userDTO.getAuthorities())
                     .flatMap(authorityRepository::findById)
                     .map(managedAuthorities::add)
                     .then(Mono.just(user));
             })
-            .flatMap(this::saveUser)
+            .flatMap(user -> saveUser(user, true))
             .doOnNext(user -> log.debug("Changed Information for User: {}", user))
             .map(AdminUserDTO::new);
     }
@@ -214,7 +295,12 @@ public class UserService {
     public Mono<Void> deleteUser(String login) {
         return userRepository
             .findOneByLogin(login)
-            .flatMap(user -> userRepository.delete(user).thenReturn(user))
+            .flatMap(user ->
+                userRepository
+                    .delete(user)
+                    .then(TransactionCallbacks.afterTransaction(() -> userDetailsService.evict(user.getId())))
+                    .thenReturn(user)
+            )
             .doOnNext(user -> log.debug("Deleted User: {}", user))
             .then();
     }
@@ -250,6 +336,15 @@ public class UserService {
 
     @Transactional
     public Mono<User> saveUser(User user) {
+        return saveUser(user, false);
+    }
+
+    /**
+     * Save a user with its authorities: the authorities are either all inserted, by a single statement, or only the changed
+     * ones are deleted and inserted, when the user already has authorities. The cached user is evicted once the transaction
+     * ends.
+     */
+    private Mono<User> saveUser(User user, boolean updateAuthorities) {
         return SecurityUtils
             .getCurrentUserLogin()
             .switchIfEmpty(Mono.just(Constants.SYSTEM))
@@ -260,23 +355,30 @@ public class UserService {
                 user.setLastModifiedBy(login);
                 // Saving the relationship can be done in an entity callback
                 // once https://github.com/spring-projects/spring-data-r2dbc/issues/215 is done
+                List<String> authorities = user.getAuthorities().stream().map(Authority::getName).collect(Collectors.toList());
                 return userRepository
                     .save(user)
                     .flatMap(savedUser ->
-                        Flux
-                            .fromIterable(user.getAuthorities())
-                            .flatMap(authority -> userRepository.saveUserAuthority(savedUser.getId(), authority.getName()))
-                            .then(Mono.just(savedUser))
+                        saveUserAuthorities(savedUser.getId(), authorities, updateAuthorities)
+                            .then(TransactionCallbacks.afterTransaction(() -> userDetailsService.evict(savedUser.getId())))
+                            .thenReturn(savedUser)
                     );
             });
     }
 
+    private Mono<Void> saveUserAuthorities(Long userId, List<String> authorities, boolean updateAuthorities) {
+        if (updateAuthorities) {
+            return userRepository.updateUserAuthorities(userId, authorities);
+        }
+        return userRepository.saveUserAuthorities(userId, authorities);
+    }
+
     @Transactional
     public Mono<Void> changePassword(String currentClearTextPassword, String newPassword) {
         return SecurityUtils
             .getCurrentUserLogin()
             .flatMap(userRepository::findOneByLogin)
-            .publishOn(Schedulers.boundedElastic())
+            .publishOn(passwordHashing.getScheduler())
             .map(user -> {
                 String currentEncryptedPassword = user.getPassword();
                 if (!passwordEncoder.matches(currentClearTextPassword, currentEncryptedPassword)) {
@@ -319,21 +421,83 @@ public class UserService {
     /**
      * Not activated users should be automatically deleted after 3 days.
      * <p>
-     * This is scheduled to get fired everyday, at 01:00 (am).
+     * This is scheduled to get fired everyday, at 01:00 (am). The deletion is subscribed to, without blocking the scheduler
+     * thread until it completes.
      */
     @Scheduled(cron = "0 0 1 * * ?")
     public void removeNotActivatedUsers() {
-        removeNotActivatedUsersReactively().blockLast();
+        removeNotActivatedUsersReactively()
+            .subscribe(
+                count -> log.info("Deleted {} not activated users", count),
+                e -> log.error("Could not delete the not activated users", e)
+            );
     }
 
-    @Transactional
-    public Flux<User> removeNotActivatedUsersReactively() {
+    /**
+     * Delete the not activated users created more than 3 days ago, by batches, each batch in its own transaction.
+     * <p>
+     * The deletion runs on a single node of the cluster at a time, holding the {@link #NOT_ACTIVATED_USERS_LOCK} lock: it is
+     * skipped when another node holds it, and the lock is extended before each next batch, the deletion failing if it was
+     * lost. The deleted users are counted once their batch is committed, by the {@link #NOT_ACTIVATED_USERS_DELETED_METER_NAME}
+     * meter.
+     *
+     * @return the number of deleted users, or empty if the deletion runs on another node.
+     */
+    public Mono<Long> removeNotActivatedUsersReactively() {
+        LocalDateTime createdBefore = LocalDateTime.ofInstant(Instant.now().minus(3, ChronoUnit.DAYS), ZoneOffset.UTC);
+        return Mono.usingWhen(
+            jobLockRepository.tryLock(NOT_ACTIVATED_USERS_LOCK, notActivatedUsersLockAtMostFor).filter(Boolean::booleanValue),
+            locked -> {
+                Timer.Sample sample = Timer.start();
+                return removeNotActivatedUsersBatch(createdBefore)
+                    .expand(batch ->
+                        batch.getT1().size() == notActivatedUsersBatchSize ? removeNextNotActivatedUsersBatch(createdBefore) : Mono.empty()
+                    )
+                    .map(batch -> (long) batch.getT2())
+                    .reduce(0L, Long::sum)
+                    .doOnSuccess(count -> sample.stop(notActivatedUsersCleanupTimer));
+            },
+            locked -> jobLockRepository.unlock(NOT_ACTIVATED_USERS_LOCK)
+        );
+    }
+
+    private Mono<Tuple2<List<Long>, Integer>> removeNextNotActivatedUsersBatch(LocalDateTime createdBefore) {
+        return jobLockRepository
+            .extendLock(NOT_ACTIVATED_USERS_LOCK, notActivatedUsersLockAtMostFor)
+            .flatMap(extended -> {
+                if (!extended) {
+                    return Mono.error(new IllegalStateException("Lock " + NOT_ACTIVATED_USERS_LOCK + " expired during the deletion"));
+                }
+                return removeNotActivatedUsersBatch(createdBefore);
+            });
+    }
+
+    /**
+     * Delete a batch of not activated users with their authorities, by a statement per table.
+     *
+     * @return the ids of the users in the batch, and the number of users deleted, which were not activated meanwhile.
+     */
+    private Mono<Tuple2<List<Long>, Integer>> removeNotActivatedUsersBatch(LocalDateTime createdBefore) {
         return userRepository
-            .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(
-                LocalDateTime.ofInstant(Instant.now().minus(3, ChronoUnit.DAYS), ZoneOffset.UTC)
-            )
-            .flatMap(user -> userRepository.delete(user).thenReturn(user))
-            .doOnNext(user -> log.debug("Deleted User: {}", user));
+            .findIdsByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(createdBefore, notActivatedUsersBatchSize)
+            .collectList()
+            .flatMap(ids -> {
+                if (ids.isEmpty()) {
+                    return Mono.just(Tuples.of(ids, 0));
+                }
+                return userRepository
+                    .deleteUserAuthoritiesByUserIdInAndActivatedIsFalse(ids)
+                    .then(userRepository.deleteByIdInAndActivatedIsFalse(ids))
+                    .map(deleted -> Tuples.of(ids, deleted));
+            })
+            .as(transactionalOperator::transactional)
+            .doOnNext(batch -> {
+                if (batch.getT2() > 0) {
+                    notActivatedUsersDeletedCounter.increment(batch.getT2());
+                    userDetailsService.evictAll(batch.getT1());
+                    log.debug("Deleted {} not activated users", batch.getT2());
+                }
+            });
     }
 
     /**
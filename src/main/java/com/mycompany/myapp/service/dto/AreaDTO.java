@@ -27,6 +27,8 @@ public class AreaDTO implements Serializable {
 
     private Instant dataInatividade;
 
+    private Long versao;
+
     public Long getId() {
         return id;
     }
@@ -75,6 +77,14 @@ public class AreaDTO implements Serializable {
         this.dataInatividade = dataInatividade;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -106,6 +116,7 @@ public class AreaDTO implements Serializable {
             ", status='" + getStatus() + "'" +
             ", dataCriacao='" + getDataCriacao() + "'" +
             ", dataInatividade='" + getDataInatividade() + "'" +
+            ", versao=" + getVersao() +
             "}";
     }
 }
@@ -27,6 +27,8 @@ public class CursoDTO implements Serializable {
 
     private Instant dataInatividade;
 
+    private Long versao;
+
     private AreaDTO area;
 
     public Long getId() {
@@ -77,6 +79,14 @@ public class CursoDTO implements Serializable {
         this.dataInatividade = dataInatividade;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     public AreaDTO getArea() {
         return area;
     }
@@ -116,6 +126,7 @@ public class CursoDTO implements Serializable {
             ", status='" + getStatus() + "'" +
             ", dataCriacao='" + getDataCriacao() + "'" +
             ", dataInatividade='" + getDataInatividade() + "'" +
+            ", versao=" + getVersao() +
             ", area=" + getArea() +
             "}";
     }
@@ -0,0 +1,95 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.domain.enumeration.StatusCurso;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A summary DTO for the {@link com.mycompany.myapp.domain.Curso} entity, with only the fields shown in the lists.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class CursoSummaryDTO implements Serializable {
+
+    private Long id;
+
+    private String nome;
+
+    private StatusCurso status;
+
+    private Long areaId;
+
+    private String areaNome;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public StatusCurso getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusCurso status) {
+        this.status = status;
+    }
+
+    public Long getAreaId() {
+        return areaId;
+    }
+
+    public void setAreaId(Long areaId) {
+        this.areaId = areaId;
+    }
+
+    public String getAreaNome() {
+        return areaNome;
+    }
+
+    public void setAreaNome(String areaNome) {
+        this.areaNome = areaNome;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CursoSummaryDTO)) {
+            return false;
+        }
+
+        CursoSummaryDTO cursoSummaryDTO = (CursoSummaryDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, cursoSummaryDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CursoSummaryDTO{" +
+            "id=" + getId() +
+            ", nome='" + getNome() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", areaId=" + getAreaId() +
+            ", areaNome='" + getAreaNome() + "'" +
+            "}";
+    }
+}
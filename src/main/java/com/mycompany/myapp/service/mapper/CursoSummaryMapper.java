@@ -0,0 +1,19 @@
+package com.mycompany.myapp.service.mapper;
+
+import com.mycompany.myapp.domain.Curso;
+import com.mycompany.myapp.service.dto.CursoSummaryDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link Curso} and its summary DTO {@link CursoSummaryDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface CursoSummaryMapper {
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "nome", source = "nome")
+    @Mapping(target = "status", source = "status")
+    @Mapping(target = "areaId", source = "areaId")
+    @Mapping(target = "areaNome", source = "area.nome")
+    CursoSummaryDTO toDto(Curso curso);
+}
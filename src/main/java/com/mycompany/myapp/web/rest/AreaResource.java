@@ -1,13 +1,20 @@
 package com.mycompany.myapp.web.rest;
 
+import com.mycompany.myapp.domain.criteria.AreaCriteria;
+import com.mycompany.myapp.domain.enumeration.StatusCurso;
 import com.mycompany.myapp.repository.AreaRepository;
+import com.mycompany.myapp.repository.Keyset;
 import com.mycompany.myapp.service.AreaService;
 import com.mycompany.myapp.service.dto.AreaDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ConditionalRequestUtil;
+import com.mycompany.myapp.web.rest.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import javax.validation.Valid;
@@ -15,8 +22,8 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -25,6 +32,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -43,6 +51,17 @@ public class AreaResource {
 
     private static final String ENTITY_NAME = "area";
 
+    private static final Map<String, Class<?>> KEYSET_SORT_PROPERTIES = Map.of(
+        "id",
+        Long.class,
+        "nome",
+        String.class,
+        "status",
+        StatusCurso.class,
+        "dataCriacao",
+        Instant.class
+    );
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -88,7 +107,8 @@ public class AreaResource {
      * @param id the id of the areaDTO to save.
      * @param areaDTO the areaDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated areaDTO,
-     * or with status {@code 400 (Bad Request)} if the areaDTO is not valid,
+     * or with status {@code 400 (Bad Request)} if the areaDTO is not valid or has no version,
+     * or with status {@code 409 (Conflict)} if the area was modified since the version of the areaDTO was read,
      * or with status {@code 500 (Internal Server Error)} if the areaDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -104,24 +124,20 @@ public class AreaResource {
         if (!Objects.equals(id, areaDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        if (areaDTO.getVersao() == null) {
+            throw new BadRequestAlertException("Invalid version", ENTITY_NAME, "versaonull");
+        }
 
-        return areaRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return areaService
-                    .update(areaDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+        return areaService
+            .update(areaDTO)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .onErrorResume(OptimisticLockingFailureException.class, e -> notFoundOrConflict(id, e))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -132,6 +148,7 @@ public class AreaResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated areaDTO,
      * or with status {@code 400 (Bad Request)} if the areaDTO is not valid,
      * or with status {@code 404 (Not Found)} if the areaDTO is not found,
+     * or with status {@code 409 (Conflict)} if the area was modified concurrently,
      * or with status {@code 500 (Internal Server Error)} if the areaDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -148,52 +165,133 @@ public class AreaResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        return areaRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
+        Mono<AreaDTO> result = areaService.partialUpdate(areaDTO);
 
-                Mono<AreaDTO> result = areaService.partialUpdate(areaDTO);
+        return result
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .onErrorResume(OptimisticLockingFailureException.class, e -> notFoundOrConflict(id, e))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
+    }
 
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+    /**
+     * Translates a failed conditional update: the area does not exist, or it was modified concurrently, which is answered
+     * with status {@code 409 (Conflict)}.
+     */
+    private <T> Mono<T> notFoundOrConflict(Long id, OptimisticLockingFailureException e) {
+        return areaRepository
+            .existsById(id)
+            .flatMap(exists -> Mono.error(exists ? e : new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")));
     }
 
     /**
-     * {@code GET  /areas} : get all the areas.
+     * {@code GET  /areas} : get all the areas, filtered by the criteria.
      *
+     * @param criteria the criteria which the requested entities should match.
      * @param pageable the pagination information.
-     * @param request a {@link ServerHttpRequest} request.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of areas in body.
+     * @param count whether to count all the areas for the {@code X-Total-Count} and {@code Link} headers, {@code false} for infinite scrolling.
+     * @param exchange the current exchange, used for the conditional request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of areas in body, or with status {@code 304 (Not Modified)} if the areas were not modified.
      */
     @GetMapping("/areas")
     public Mono<ResponseEntity<List<AreaDTO>>> getAllAreas(
+        AreaCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(required = false, defaultValue = "true") boolean count,
+        ServerWebExchange exchange
+    ) {
+        log.debug("REST request to get a page of Areas by criteria: {}", criteria);
+        return areaService
+            .findTableVersion()
+            .flatMap(version ->
+                ConditionalRequestUtil.checkNotModified(
+                    exchange,
+                    version,
+                    () -> findAllAreas(criteria, pageable, count, exchange.getRequest())
+                )
+            );
+    }
+
+    private Mono<ResponseEntity<List<AreaDTO>>> findAllAreas(
+        AreaCriteria criteria,
+        Pageable pageable,
+        boolean count,
+        ServerHttpRequest request
+    ) {
+        if (!count) {
+            return areaService.findByCriteria(criteria, pageable).collectList().map(list -> ResponseEntity.ok().body(list));
+        }
+        return areaService
+            .findPageByCriteria(criteria, pageable)
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                    .body(page.getContent())
+            );
+    }
+
+    /**
+     * {@code GET  /areas/count} : count all the areas, filtered by the criteria.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/areas/count")
+    public Mono<ResponseEntity<Long>> countAreas(AreaCriteria criteria) {
+        log.debug("REST request to count Areas by criteria: {}", criteria);
+        return areaService.countByCriteria(criteria).map(count -> ResponseEntity.status(HttpStatus.OK).body(count));
+    }
+
+    /**
+     * {@code GET  /areas} : get all the areas as a stream, either as newline delimited JSON or as server-sent events.
+     * The areas are written as they are read from the database, without buffering the whole list.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link Flux} of areas.
+     */
+    @GetMapping(value = "/areas", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE })
+    public Flux<AreaDTO> getAllAreasAsStream(AreaCriteria criteria) {
+        log.debug("REST request to get Areas as a stream by criteria: {}", criteria);
+        return areaService.streamByCriteria(criteria);
+    }
+
+    /**
+     * {@code GET  /areas?cursor=} : get a page of the areas, using keyset pagination.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param cursor the continuation token of the page, empty for the first page.
+     * @param pageable the pagination information, only its size and, for the first page, its sort are used.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of areas in body, or with status {@code 400 (Bad Request)} if the cursor or the sort is invalid.
+     */
+    @GetMapping(value = "/areas", params = KeysetPaginationUtil.CURSOR_PARAMETER)
+    public Mono<ResponseEntity<List<AreaDTO>>> getAllAreasByCursor(
+        AreaCriteria criteria,
+        @RequestParam(KeysetPaginationUtil.CURSOR_PARAMETER) String cursor,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
-        log.debug("REST request to get a page of Areas");
+        log.debug("REST request to get a keyset page of Areas by criteria: {}", criteria);
+        Keyset keyset = KeysetPaginationUtil.createKeyset(cursor, pageable, KEYSET_SORT_PROPERTIES, ENTITY_NAME);
         return areaService
-            .countAll()
-            .zipWith(areaService.findAll(pageable).collectList())
-            .map(countWithEntities ->
+            .findByCriteria(criteria, keyset)
+            .collectList()
+            .map(areas ->
                 ResponseEntity
                     .ok()
                     .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
+                        KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
                             UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                            keyset,
+                            areas
                         )
                     )
-                    .body(countWithEntities.getT2())
+                    .body(areas)
             );
     }
 
@@ -201,13 +299,23 @@ public class AreaResource {
      * {@code GET  /areas/:id} : get the "id" area.
      *
      * @param id the id of the areaDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the areaDTO, or with status {@code 404 (Not Found)}.
+     * @param exchange the current exchange, used for the conditional request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the areaDTO, or with status {@code 304 (Not Modified)} if it was not modified, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/areas/{id}")
-    public Mono<ResponseEntity<AreaDTO>> getArea(@PathVariable Long id) {
+    public Mono<ResponseEntity<AreaDTO>> getArea(@PathVariable Long id, ServerWebExchange exchange) {
         log.debug("REST request to get Area : {}", id);
-        Mono<AreaDTO> areaDTO = areaService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(areaDTO);
+        return areaService
+            .findLastModified(id)
+            .flatMap(lastModified ->
+                ConditionalRequestUtil.checkNotModified(
+                    exchange,
+                    id,
+                    lastModified,
+                    () -> ResponseUtil.wrapOrNotFound(areaService.findOne(id))
+                )
+            )
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
     }
 
     /**
@@ -1,33 +1,48 @@
 package com.mycompany.myapp.web.rest;
 
+import com.mycompany.myapp.domain.criteria.CursoCriteria;
+import com.mycompany.myapp.domain.enumeration.StatusCurso;
 import com.mycompany.myapp.repository.CursoRepository;
+import com.mycompany.myapp.repository.Keyset;
 import com.mycompany.myapp.service.CursoService;
+import com.mycompany.myapp.service.dto.BulkResultDTO;
 import com.mycompany.myapp.service.dto.CursoDTO;
+import com.mycompany.myapp.service.dto.CursoSummaryDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ConditionalRequestUtil;
+import com.mycompany.myapp.web.rest.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.reactive.ResponseUtil;
@@ -43,6 +58,19 @@ public class CursoResource {
 
     private static final String ENTITY_NAME = "curso";
 
+    private static final Map<String, Class<?>> KEYSET_SORT_PROPERTIES = Map.of(
+        "id",
+        Long.class,
+        "nome",
+        String.class,
+        "status",
+        StatusCurso.class,
+        "dataCriacao",
+        Instant.class
+    );
+
+    private static final Sort.Order SEARCH_RANK_ORDER = Sort.Order.desc("rank");
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -82,13 +110,28 @@ public class CursoResource {
             });
     }
 
+    /**
+     * {@code POST  /cursos/bulk} : Create or update cursos in bulk, the cursos without id being created and the others updated.
+     * The cursos can be sent as a JSON array or as newline delimited JSON.
+     *
+     * @param cursoDTOs the cursoDTOs to create or update.
+     * @return the result of each curso, in the given order: its id, and whether it was created, updated, or rejected as invalid,
+     * duplicate, not found, or in conflict when it was modified since its version was read.
+     */
+    @PostMapping("/cursos/bulk")
+    public Flux<BulkResultDTO> saveCursosInBulk(@RequestBody Flux<CursoDTO> cursoDTOs) {
+        log.debug("REST request to save Cursos in bulk");
+        return cursoService.saveAll(cursoDTOs);
+    }
+
     /**
      * {@code PUT  /cursos/:id} : Updates an existing curso.
      *
      * @param id the id of the cursoDTO to save.
      * @param cursoDTO the cursoDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated cursoDTO,
-     * or with status {@code 400 (Bad Request)} if the cursoDTO is not valid,
+     * or with status {@code 400 (Bad Request)} if the cursoDTO is not valid or has no version,
+     * or with status {@code 409 (Conflict)} if the curso was modified since the version of the cursoDTO was read,
      * or with status {@code 500 (Internal Server Error)} if the cursoDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -104,24 +147,20 @@ public class CursoResource {
         if (!Objects.equals(id, cursoDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        if (cursoDTO.getVersao() == null) {
+            throw new BadRequestAlertException("Invalid version", ENTITY_NAME, "versaonull");
+        }
 
-        return cursoRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return cursoService
-                    .update(cursoDTO)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+        return cursoService
+            .update(cursoDTO)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .onErrorResume(OptimisticLockingFailureException.class, e -> notFoundOrConflict(id, e))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -132,6 +171,7 @@ public class CursoResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated cursoDTO,
      * or with status {@code 400 (Bad Request)} if the cursoDTO is not valid,
      * or with status {@code 404 (Not Found)} if the cursoDTO is not found,
+     * or with status {@code 409 (Conflict)} if the curso was modified concurrently,
      * or with status {@code 500 (Internal Server Error)} if the cursoDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -148,52 +188,226 @@ public class CursoResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
+        Mono<CursoDTO> result = cursoService.partialUpdate(cursoDTO);
+
+        return result
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .onErrorResume(OptimisticLockingFailureException.class, e -> notFoundOrConflict(id, e))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
+    }
+
+    /**
+     * Translates a failed conditional update: the curso does not exist, or it was modified concurrently, which is answered
+     * with status {@code 409 (Conflict)}.
+     */
+    private <T> Mono<T> notFoundOrConflict(Long id, OptimisticLockingFailureException e) {
         return cursoRepository
             .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
+            .flatMap(exists -> Mono.error(exists ? e : new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")));
+    }
 
-                Mono<CursoDTO> result = cursoService.partialUpdate(cursoDTO);
+    /**
+     * {@code GET  /cursos} : get all the cursos, filtered by the criteria.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param pageable the pagination information.
+     * @param count whether to count all the cursos for the {@code X-Total-Count} and {@code Link} headers, {@code false} for infinite scrolling.
+     * @param exchange the current exchange, used for the conditional request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of cursos in body, or with status {@code 304 (Not Modified)} if the cursos and areas were not modified.
+     */
+    @GetMapping("/cursos")
+    public Mono<ResponseEntity<List<CursoDTO>>> getAllCursos(
+        CursoCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(required = false, defaultValue = "true") boolean count,
+        ServerWebExchange exchange
+    ) {
+        log.debug("REST request to get a page of Cursos by criteria: {}", criteria);
+        return cursoService
+            .findTableVersion()
+            .flatMap(version ->
+                ConditionalRequestUtil.checkNotModified(
+                    exchange,
+                    version,
+                    () -> findAllCursos(criteria, pageable, count, exchange.getRequest())
+                )
+            );
+    }
 
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+    private Mono<ResponseEntity<List<CursoDTO>>> findAllCursos(
+        CursoCriteria criteria,
+        Pageable pageable,
+        boolean count,
+        ServerHttpRequest request
+    ) {
+        if (!count) {
+            return cursoService.findByCriteria(criteria, pageable).collectList().map(list -> ResponseEntity.ok().body(list));
+        }
+        return cursoService
+            .findPageByCriteria(criteria, pageable)
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                    .body(page.getContent())
+            );
     }
 
     /**
-     * {@code GET  /cursos} : get all the cursos.
+     * {@code GET  /cursos/summary} : get the summaries of the cursos, filtered by the criteria, for the list views.
      *
+     * @param criteria the criteria which the requested entities should match.
      * @param pageable the pagination information.
+     * @param count whether to count all the cursos for the {@code X-Total-Count} and {@code Link} headers, {@code false} for infinite scrolling.
+     * @param exchange the current exchange, used for the conditional request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of curso summaries in body, or with status {@code 304 (Not Modified)} if the cursos and areas were not modified.
+     */
+    @GetMapping("/cursos/summary")
+    public Mono<ResponseEntity<List<CursoSummaryDTO>>> getAllCursoSummaries(
+        CursoCriteria criteria,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(required = false, defaultValue = "true") boolean count,
+        ServerWebExchange exchange
+    ) {
+        log.debug("REST request to get a page of Curso summaries by criteria: {}", criteria);
+        return cursoService
+            .findTableVersion()
+            .flatMap(version ->
+                ConditionalRequestUtil.checkNotModified(
+                    exchange,
+                    version,
+                    () -> findAllCursoSummaries(criteria, pageable, count, exchange.getRequest())
+                )
+            );
+    }
+
+    private Mono<ResponseEntity<List<CursoSummaryDTO>>> findAllCursoSummaries(
+        CursoCriteria criteria,
+        Pageable pageable,
+        boolean count,
+        ServerHttpRequest request
+    ) {
+        if (!count) {
+            return cursoService.findSummariesByCriteria(criteria, pageable).collectList().map(list -> ResponseEntity.ok().body(list));
+        }
+        return cursoService
+            .findSummaryPageByCriteria(criteria, pageable)
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                    .body(page.getContent())
+            );
+    }
+
+    /**
+     * {@code GET  /cursos/count} : count all the cursos, filtered by the criteria.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/cursos/count")
+    public Mono<ResponseEntity<Long>> countCursos(CursoCriteria criteria) {
+        log.debug("REST request to count Cursos by criteria: {}", criteria);
+        return cursoService.countByCriteria(criteria).map(count -> ResponseEntity.status(HttpStatus.OK).body(count));
+    }
+
+    /**
+     * {@code GET  /cursos} : get all the cursos as a stream, either as newline delimited JSON or as server-sent events.
+     * The cursos are written as they are read from the database, without buffering the whole list.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link Flux} of cursos.
+     */
+    @GetMapping(value = "/cursos", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE })
+    public Flux<CursoDTO> getAllCursosAsStream(CursoCriteria criteria) {
+        log.debug("REST request to get Cursos as a stream by criteria: {}", criteria);
+        return cursoService.streamByCriteria(criteria);
+    }
+
+    /**
+     * {@code GET  /cursos?cursor=} : get a page of the cursos, using keyset pagination.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param cursor the continuation token of the page, empty for the first page.
+     * @param pageable the pagination information, only its size and, for the first page, its sort are used.
      * @param request a {@link ServerHttpRequest} request.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of cursos in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of cursos in body, or with status {@code 400 (Bad Request)} if the cursor or the sort is invalid.
      */
-    @GetMapping("/cursos")
-    public Mono<ResponseEntity<List<CursoDTO>>> getAllCursos(
+    @GetMapping(value = "/cursos", params = KeysetPaginationUtil.CURSOR_PARAMETER)
+    public Mono<ResponseEntity<List<CursoDTO>>> getAllCursosByCursor(
+        CursoCriteria criteria,
+        @RequestParam(KeysetPaginationUtil.CURSOR_PARAMETER) String cursor,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get a keyset page of Cursos by criteria: {}", criteria);
+        Keyset keyset = KeysetPaginationUtil.createKeyset(cursor, pageable, KEYSET_SORT_PROPERTIES, ENTITY_NAME);
+        return cursoService
+            .findByCriteria(criteria, keyset)
+            .collectList()
+            .map(cursos ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            keyset,
+                            cursos
+                        )
+                    )
+                    .body(cursos)
+            );
+    }
+
+    /**
+     * {@code GET  /_search/cursos?q=} : search the cursos by the words of their name and description, the most relevant first,
+     * using keyset pagination on the relevance.
+     *
+     * @param query the search query.
+     * @param cursor the continuation token of the page, absent for the first page.
+     * @param pageable the pagination information, only its size is used.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of cursos in body, or with status {@code 400 (Bad Request)} if the cursor is invalid.
+     */
+    @GetMapping("/_search/cursos")
+    public Mono<ResponseEntity<List<CursoDTO>>> searchCursos(
+        @RequestParam("q") String query,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String cursor,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
-        log.debug("REST request to get a page of Cursos");
+        log.debug("REST request to search a keyset page of Cursos for query {}", query);
+        if (!StringUtils.hasText(query)) {
+            return Mono.just(ResponseEntity.ok().body(List.of()));
+        }
+        Keyset keyset = KeysetPaginationUtil.createKeyset(
+            cursor,
+            PageRequest.of(0, pageable.getPageSize(), Sort.by(SEARCH_RANK_ORDER)),
+            Map.of(SEARCH_RANK_ORDER.getProperty(), Float.class),
+            ENTITY_NAME
+        );
         return cursoService
-            .countAll()
-            .zipWith(cursoService.findAll(pageable).collectList())
-            .map(countWithEntities ->
+            .search(query, keyset)
+            .collectList()
+            .map(results ->
                 ResponseEntity
                     .ok()
                     .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
+                        KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
                             UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                            keyset,
+                            results,
+                            result -> result.getT2().toString(),
+                            result -> result.getT1().getId()
                         )
                     )
-                    .body(countWithEntities.getT2())
+                    .body(results.stream().map(Tuple2::getT1).collect(Collectors.toList()))
             );
     }
 
@@ -201,13 +415,23 @@ public class CursoResource {
      * {@code GET  /cursos/:id} : get the "id" curso.
      *
      * @param id the id of the cursoDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the cursoDTO, or with status {@code 404 (Not Found)}.
+     * @param exchange the current exchange, used for the conditional request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the cursoDTO, or with status {@code 304 (Not Modified)} if it was not modified, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/cursos/{id}")
-    public Mono<ResponseEntity<CursoDTO>> getCurso(@PathVariable Long id) {
+    public Mono<ResponseEntity<CursoDTO>> getCurso(@PathVariable Long id, ServerWebExchange exchange) {
         log.debug("REST request to get Curso : {}", id);
-        Mono<CursoDTO> cursoDTO = cursoService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(cursoDTO);
+        return cursoService
+            .findLastModified(id)
+            .flatMap(lastModified ->
+                ConditionalRequestUtil.checkNotModified(
+                    exchange,
+                    id,
+                    lastModified,
+                    () -> ResponseUtil.wrapOrNotFound(cursoService.findOne(id))
+                )
+            )
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
     }
 
     /**
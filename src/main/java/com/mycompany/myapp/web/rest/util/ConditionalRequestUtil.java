@@ -0,0 +1,91 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.mycompany.myapp.repository.TableVersion;
+import java.time.Instant;
+import java.util.function.Supplier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Utility class for handling HTTP conditional requests, with the {@code If-None-Match} and {@code If-Modified-Since} headers.
+ * <p>
+ * The version of the requested content is checked before the content itself is read, so a request for an unchanged content
+ * is answered with a {@code 304 (Not Modified)} status without reading, mapping or serializing it.
+ */
+public final class ConditionalRequestUtil {
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private ConditionalRequestUtil() {}
+
+    /**
+     * Creates the entity tag of a version of an entity.
+     *
+     * @param id the id of the entity.
+     * @param lastModified the last modification date of the entity.
+     * @return the quoted entity tag.
+     */
+    public static String etag(Long id, Instant lastModified) {
+        return "\"" + Long.toString(id, Character.MAX_RADIX) + "-" + toVersion(lastModified) + "\"";
+    }
+
+    /**
+     * Creates the entity tag of a version of a list, which depends on the content of whole tables.
+     *
+     * @param version the version of the tables.
+     * @return the quoted entity tag.
+     */
+    public static String etag(TableVersion version) {
+        return "\"" + Long.toString(version.getVersion(), Character.MAX_RADIX) + "\"";
+    }
+
+    /**
+     * Checks a conditional request for an entity, and reads the entity only if it was modified.
+     *
+     * @param exchange the current exchange, whose response gets the {@code ETag} and {@code Last-Modified} headers.
+     * @param id the id of the entity.
+     * @param lastModified the last modification date of the entity.
+     * @param response the supplier of the response, called only if the entity was modified.
+     * @param <T> the type of the response body.
+     * @return the response, or an empty response with status {@code 304 (Not Modified)}.
+     */
+    public static <T> Mono<ResponseEntity<T>> checkNotModified(
+        ServerWebExchange exchange,
+        Long id,
+        Instant lastModified,
+        Supplier<Mono<ResponseEntity<T>>> response
+    ) {
+        if (exchange.checkNotModified(etag(id, lastModified), lastModified)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        }
+        return response.get();
+    }
+
+    /**
+     * Checks a conditional request for a list, and reads the list only if the tables were modified. Only the entity tag is
+     * checked: a table version is a counter, not a date.
+     *
+     * @param exchange the current exchange, whose response gets the {@code ETag} header.
+     * @param version the version of the tables.
+     * @param response the supplier of the response, called only if the tables were modified.
+     * @param <T> the type of the response body.
+     * @return the response, or an empty response with status {@code 304 (Not Modified)}.
+     */
+    public static <T> Mono<ResponseEntity<T>> checkNotModified(
+        ServerWebExchange exchange,
+        TableVersion version,
+        Supplier<Mono<ResponseEntity<T>>> response
+    ) {
+        if (exchange.checkNotModified(etag(version))) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        }
+        return response.get();
+    }
+
+    private static String toVersion(Instant lastModified) {
+        long micros = lastModified.getEpochSecond() * MICROS_PER_SECOND + lastModified.getNano() / 1000;
+        return Long.toString(micros, Character.MAX_RADIX);
+    }
+}
@@ -0,0 +1,120 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.mycompany.myapp.repository.Keyset;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (seek) pagination, the cursor-based counterpart of
+ * {@link tech.jhipster.web.util.PaginationUtil}.
+ * <p>
+ * The position of the next page is sent to the client as an opaque continuation token, in the {@code cursor} query
+ * parameter of a {@code Link} header with the {@code next} relation.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String CURSOR_PARAMETER = "cursor";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Creates the keyset for the requested page.
+     *
+     * @param cursor the continuation token sent by the client, empty for the first page.
+     * @param pageable the pagination information, only its size and, for the first page, its sort are used.
+     * @param allowedProperties the properties which can be used to sort, with their type, they must be unique or not null.
+     * @param entityName the name of the entity, used in the error alert.
+     * @return the keyset of the requested page.
+     * @throws BadRequestAlertException if the cursor or the sort is invalid.
+     */
+    public static Keyset createKeyset(String cursor, Pageable pageable, Map<String, Class<?>> allowedProperties, String entityName) {
+        Keyset keyset;
+        if (StringUtils.hasText(cursor)) {
+            try {
+                keyset = Keyset.decode(cursor, pageable.getPageSize());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+            }
+        } else {
+            List<Sort.Order> orders = pageable.getSort().toList();
+            if (orders.size() > 1) {
+                throw new BadRequestAlertException("Only one sort property is supported with a cursor", entityName, "sortinvalid");
+            }
+            keyset = Keyset.first(orders.isEmpty() ? Sort.Order.asc("id") : orders.get(0), pageable.getPageSize());
+        }
+        Class<?> propertyType = allowedProperties.get(keyset.getOrder().getProperty());
+        if (propertyType == null) {
+            throw new BadRequestAlertException("Invalid sort property for a cursor", entityName, "sortinvalid");
+        }
+        if (!keyset.isFirst()) {
+            try {
+                keyset.readLastValue(propertyType);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+            }
+        }
+        return keyset;
+    }
+
+    /**
+     * Generates the pagination headers of a keyset page: a {@code Link} header to the next page, if the page is full.
+     *
+     * @param uriBuilder the builder of the request URI.
+     * @param keyset the keyset of the current page.
+     * @param content the content of the current page.
+     * @param <T> the type of the content, which must expose the sort property and an {@code id} property.
+     * @return the pagination headers.
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(UriComponentsBuilder uriBuilder, Keyset keyset, List<T> content) {
+        return generateKeysetPaginationHttpHeaders(
+            uriBuilder,
+            keyset,
+            content,
+            last -> Objects.toString(new BeanWrapperImpl(last).getPropertyValue(keyset.getOrder().getProperty())),
+            last -> (Long) new BeanWrapperImpl(last).getPropertyValue("id")
+        );
+    }
+
+    /**
+     * Generates the pagination headers of a keyset page, whose sort value is not a property of its content.
+     *
+     * @param uriBuilder the builder of the request URI.
+     * @param keyset the keyset of the current page.
+     * @param content the content of the current page.
+     * @param lastValue extracts the sort value of the last element, as a string.
+     * @param lastId extracts the id of the last element.
+     * @param <T> the type of the content.
+     * @return the pagination headers.
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(
+        UriComponentsBuilder uriBuilder,
+        Keyset keyset,
+        List<T> content,
+        Function<T, String> lastValue,
+        Function<T, Long> lastId
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        if (content.size() < keyset.getSize()) {
+            return headers;
+        }
+        T last = content.get(content.size() - 1);
+        Keyset next = keyset.next(lastValue.apply(last), lastId.apply(last));
+        String link = uriBuilder
+            .replaceQueryParam(CURSOR_PARAMETER, next.encode())
+            .replaceQueryParam("size", keyset.getSize())
+            .replaceQueryParam("page")
+            .replaceQueryParam("sort")
+            .toUriString();
+        headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        return headers;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Utility classes used by the REST controllers.
+ */
+package com.mycompany.myapp.web.rest.util;
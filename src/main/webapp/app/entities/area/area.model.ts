@@ -8,6 +8,7 @@ export interface IArea {
   status?: StatusCurso | null;
   dataCriacao?: dayjs.Dayjs | null;
   dataInatividade?: dayjs.Dayjs | null;
+  versao?: number | null;
 }
 
 export type NewArea = Omit<IArea, 'id'> & { id: null };
@@ -26,6 +26,7 @@ export const sampleWithFullData: IArea = {
   status: StatusCurso['INATIVO'],
   dataCriacao: dayjs('2025-01-24T17:06'),
   dataInatividade: dayjs('2025-01-25T01:56'),
+  versao: 2,
 };
 
 export const sampleWithNewData: NewArea = {
@@ -25,6 +25,7 @@ describe('Area Form Service', () => {
             status: expect.any(Object),
             dataCriacao: expect.any(Object),
             dataInatividade: expect.any(Object),
+            versao: expect.any(Object),
           })
         );
       });
@@ -40,6 +41,7 @@ describe('Area Form Service', () => {
             status: expect.any(Object),
             dataCriacao: expect.any(Object),
             dataInatividade: expect.any(Object),
+            versao: expect.any(Object),
           })
         );
       });
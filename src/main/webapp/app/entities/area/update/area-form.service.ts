@@ -39,6 +39,7 @@ type AreaFormGroupContent = {
   status: FormControl<AreaFormRawValue['status']>;
   dataCriacao: FormControl<AreaFormRawValue['dataCriacao']>;
   dataInatividade: FormControl<AreaFormRawValue['dataInatividade']>;
+  versao: FormControl<AreaFormRawValue['versao']>;
 };
 
 export type AreaFormGroup = FormGroup<AreaFormGroupContent>;
@@ -69,6 +70,7 @@ export class AreaFormService {
         validators: [Validators.required],
       }),
       dataInatividade: new FormControl(areaRawValue.dataInatividade),
+      versao: new FormControl(areaRawValue.versao),
     });
   }
 
@@ -9,6 +9,7 @@ export interface ICurso {
   status?: StatusCurso | null | undefined;
   dataCriacao?: dayjs.Dayjs | null;
   dataInatividade?: dayjs.Dayjs | null;
+  versao?: number | null;
   area?: Pick<IArea, 'id' | 'nome'> | null;
 }
 
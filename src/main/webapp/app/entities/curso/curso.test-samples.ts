@@ -26,6 +26,7 @@ export const sampleWithFullData: ICurso = {
   status: StatusCurso['INATIVO'],
   dataCriacao: dayjs('2025-01-25T13:22'),
   dataInatividade: dayjs('2025-01-25T02:35'),
+  versao: 2,
 };
 
 export const sampleWithNewData: NewCurso = {
@@ -25,6 +25,7 @@ describe('Curso Form Service', () => {
             status: expect.any(Object),
             dataCriacao: expect.any(Object),
             dataInatividade: expect.any(Object),
+            versao: expect.any(Object),
             area: expect.any(Object),
           })
         );
@@ -41,6 +42,7 @@ describe('Curso Form Service', () => {
             status: expect.any(Object),
             dataCriacao: expect.any(Object),
             dataInatividade: expect.any(Object),
+            versao: expect.any(Object),
             area: expect.any(Object),
           })
         );
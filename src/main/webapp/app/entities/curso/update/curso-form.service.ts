@@ -40,6 +40,7 @@ type CursoFormGroupContent = {
   status: FormControl<CursoFormRawValue['status']>;
   dataCriacao: FormControl<CursoFormRawValue['dataCriacao']>;
   dataInatividade: FormControl<CursoFormRawValue['dataInatividade']>;
+  versao: FormControl<CursoFormRawValue['versao']>;
   area: FormControl<CursoFormRawValue['area']>;
 };
 
@@ -75,6 +76,7 @@ export class CursoFormService {
         validators: [Validators.required],
       }),
       dataInatividade: new FormControl(cursoRawValue.dataInatividade),
+      versao: new FormControl(cursoRawValue.versao),
       area: new FormControl(cursoRawValue.area),
     });
   }
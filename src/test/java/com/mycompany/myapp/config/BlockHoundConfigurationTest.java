@@ -0,0 +1,60 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Test class for the {@link BlockHoundConfiguration}.
+ * <p>
+ * BlockHound is installed once per JVM, by the JUnit platform for the tests, failing the blocking calls: the detected calls
+ * are reported here as the configuration reports them at runtime.
+ */
+class BlockHoundConfigurationTest {
+
+    @Test
+    void testBlockingCallOnNonBlockingThreadIsDetectedAndCounted() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        Throwable error = catchThrowable(() ->
+            Mono
+                .fromCallable(() -> {
+                    Thread.sleep(10);
+                    return "slept";
+                })
+                .subscribeOn(Schedulers.parallel())
+                .block()
+        );
+
+        assertThat(Exceptions.unwrap(error)).isInstanceOf(BlockingOperationError.class);
+        BlockingOperationError blockingCall = (BlockingOperationError) Exceptions.unwrap(error);
+        assertThat(blockingCall.getMethod().getName()).isEqualTo("sleep");
+
+        BlockHoundConfiguration.reportBlockingCall(meterRegistry, blockingCall.getMethod());
+
+        assertThat(
+            meterRegistry.get("blockhound.blocking.calls").tag("method", blockingCall.getMethod().toString()).counter().count()
+        )
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testBlockingCallOnBlockingThreadIsAllowed() {
+        String result = Mono
+            .fromCallable(() -> {
+                Thread.sleep(10);
+                return "slept";
+            })
+            .subscribeOn(Schedulers.boundedElastic())
+            .block();
+
+        assertThat(result).isEqualTo("slept");
+    }
+}
@@ -0,0 +1,87 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.web.rest.UserResourceIT;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
+import org.springframework.data.r2dbc.query.UpdateMapper;
+import org.springframework.data.relational.core.sql.render.SqlRenderer;
+
+/**
+ * Integration tests for the link tables of the {@link EntityManager}.
+ */
+@IntegrationTest
+class EntityManagerIT {
+
+    private static final EntityManager.LinkTable USER_AUTHORITY = new EntityManager.LinkTable(
+        "jhi_user_authority",
+        "user_id",
+        "authority_name"
+    );
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SqlRenderer sqlRenderer;
+
+    @Autowired
+    private UpdateMapper updateMapper;
+
+    @Autowired
+    private R2dbcEntityTemplate r2dbcEntityTemplate;
+
+    @Autowired
+    private R2dbcDialect dialect;
+
+    private User user;
+
+    @BeforeEach
+    public void initTest() {
+        user = UserResourceIT.initTestUser(userRepository, em);
+        userRepository.save(user).block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        userRepository.deleteAllUserAuthorities().block();
+        userRepository.deleteAll().block();
+    }
+
+    @Test
+    void insertIntoLinkTableInsertsAllTheLinks() {
+        Integer inserted = em
+            .insertIntoLinkTable(USER_AUTHORITY, user.getId(), List.of(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN))
+            .block();
+
+        assertThat(inserted).isEqualTo(2);
+        assertThat(userRepository.findOneWithAuthoritiesByLogin(user.getLogin()).block().getAuthorities())
+            .extracting("name")
+            .containsExactlyInAnyOrder(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN);
+    }
+
+    @Test
+    void insertIntoLinkTableSendsNoStatementWithoutLinks() {
+        R2dbcEntityTemplate template = spy(r2dbcEntityTemplate);
+        EntityManager entityManager = new EntityManager(sqlRenderer, updateMapper, template, dialect);
+
+        assertThat(entityManager.insertIntoLinkTable(USER_AUTHORITY, user.getId(), List.of()).block()).isZero();
+
+        verify(template, never()).getDatabaseClient();
+    }
+}
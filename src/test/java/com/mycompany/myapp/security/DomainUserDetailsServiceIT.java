@@ -28,6 +28,7 @@ class DomainUserDetailsServiceIT {
     private static final String USER_TWO_EMAIL = "test-user-two@localhost";
     private static final String USER_THREE_LOGIN = "test-user-three";
     private static final String USER_THREE_EMAIL = "test-user-three@localhost";
+    private static final String USER_CACHED_LOGIN = "test-user-cached";
 
     @Autowired
     private UserRepository userRepository;
@@ -115,4 +116,37 @@ class DomainUserDetailsServiceIT {
         assertThatExceptionOfType(UserNotActivatedException.class)
             .isThrownBy(() -> domainUserDetailsService.findByUsername(USER_THREE_LOGIN).block());
     }
+
+    @Test
+    void assertThatNotActivatedUserIsNotCached() {
+        assertThatExceptionOfType(UserNotActivatedException.class)
+            .isThrownBy(() -> domainUserDetailsService.findByUsername(USER_THREE_LOGIN).block());
+
+        User userThree = userRepository.findOneByLogin(USER_THREE_LOGIN).block();
+        userThree.setActivated(true);
+        userRepository.save(userThree).block();
+
+        assertThat(domainUserDetailsService.findByUsername(USER_THREE_LOGIN).block().getUsername()).isEqualTo(USER_THREE_LOGIN);
+    }
+
+    @Test
+    void assertThatUserIsCachedUntilEvicted() {
+        String firstPassword = RandomStringUtils.randomAlphanumeric(60);
+        String secondPassword = RandomStringUtils.randomAlphanumeric(60);
+        User user = new User();
+        user.setLogin(USER_CACHED_LOGIN);
+        user.setPassword(firstPassword);
+        user.setActivated(true);
+        user.setLangKey("en");
+        user.setCreatedBy(Constants.SYSTEM);
+        userRepository.save(user).block();
+        assertThat(domainUserDetailsService.findByUsername(USER_CACHED_LOGIN).block().getPassword()).isEqualTo(firstPassword);
+
+        user.setPassword(secondPassword);
+        userRepository.save(user).block();
+        assertThat(domainUserDetailsService.findByUsername(USER_CACHED_LOGIN).block().getPassword()).isEqualTo(firstPassword);
+
+        ((DomainUserDetailsService) domainUserDetailsService).evict(user.getId());
+        assertThat(domainUserDetailsService.findByUsername(USER_CACHED_LOGIN).block().getPassword()).isEqualTo(secondPassword);
+    }
 }
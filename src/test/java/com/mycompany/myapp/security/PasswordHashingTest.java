@@ -0,0 +1,77 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for the {@link PasswordHashing} scheduler.
+ */
+class PasswordHashingTest {
+
+    private MeterRegistry meterRegistry;
+
+    private PasswordHashing passwordHashing;
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSecurity().getPasswordHashing().setThreads(1);
+        applicationProperties.getSecurity().getPasswordHashing().setQueueCapacity(1);
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHashing = new PasswordHashing(applicationProperties, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        passwordHashing.destroy();
+    }
+
+    @Test
+    void testRejectsTasksWhenTheQueueIsFull() throws InterruptedException {
+        // The single thread is busy, and the single queued task fills the queue
+        passwordHashing.getScheduler().schedule(this::block);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        passwordHashing.getScheduler().schedule(() -> {});
+
+        assertThatThrownBy(() -> Mono.just("password").publishOn(passwordHashing.getScheduler()).block())
+            .isInstanceOf(RejectedExecutionException.class)
+            .matches(PasswordHashingRejectedException::isRejection);
+
+        assertThat(meterRegistry.get(PasswordHashing.REJECTED_METER_NAME).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("executor.queued").tag("name", PasswordHashing.NAME).gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("executor.active").tag("name", PasswordHashing.NAME).gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void testRunsTasksWhenTheQueueIsNotFull() {
+        String hashed = Mono.just("password").publishOn(passwordHashing.getScheduler()).map(String::toUpperCase).block();
+
+        assertThat(hashed).isEqualTo("PASSWORD");
+        assertThat(meterRegistry.get(PasswordHashing.REJECTED_METER_NAME).counter().count()).isZero();
+    }
+
+    private void block() {
+        started.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import javax.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+/**
+ * Tests for {@link MailDispatcher}, against a local GreenMail SMTP server.
+ */
+class MailDispatcherTests {
+
+    private static final long TIMEOUT = 5000;
+
+    private GreenMail greenMail;
+
+    private JavaMailSenderImpl javaMailSender;
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private MailDispatcher mailDispatcher;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost("localhost");
+        // the server listens on a port of its own once started
+        javaMailSender.setPort(unusedPort());
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getMail().setBatchSize(10);
+        applicationProperties.getMail().setBatchTimeout(Duration.ofMillis(100));
+        applicationProperties.getMail().setRateLimit(0);
+        applicationProperties.getMail().setRetryBackoff(Duration.ofMillis(100));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        mailDispatcher.destroy();
+        greenMail.stop();
+    }
+
+    @Test
+    void testSendsQueuedMailsByBatches() throws Exception {
+        mailDispatcher = new MailDispatcher(javaMailSender, applicationProperties, meterRegistry);
+        startGreenMail();
+
+        for (int i = 0; i < 25; i++) {
+            assertThat(mailDispatcher.dispatch(createMessage(i))).isTrue();
+        }
+
+        assertThat(greenMail.waitForIncomingEmail(TIMEOUT, 25)).isTrue();
+        mailDispatcher.destroy();
+        assertThat(meterRegistry.get(MailDispatcher.MESSAGES_METER_NAME).tag("result", "sent").counter().count()).isEqualTo(25);
+        assertThat(meterRegistry.get(MailDispatcher.SEND_METER_NAME).tag("result", "success").timer().count()).isLessThanOrEqualTo(3);
+        assertThat(meterRegistry.get(MailDispatcher.QUEUE_METER_NAME).gauge().value()).isZero();
+    }
+
+    @Test
+    void testRetriesWhenServerIsUnavailable() throws Exception {
+        applicationProperties.getMail().setMaxRetries(5);
+        mailDispatcher = new MailDispatcher(javaMailSender, applicationProperties, meterRegistry);
+
+        assertThat(mailDispatcher.dispatch(createMessage(0))).isTrue();
+
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (meterRegistry.get(MailDispatcher.SEND_METER_NAME).tag("result", "failure").timer().count() == 0) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        startGreenMail();
+
+        assertThat(greenMail.waitForIncomingEmail(TIMEOUT, 1)).isTrue();
+        assertThat(greenMail.getReceivedMessages()[0].getSubject()).isEqualTo("subject 0");
+        assertThat(meterRegistry.get(MailDispatcher.MESSAGES_METER_NAME).tag("result", "failed").counter().count()).isZero();
+    }
+
+    @Test
+    void testQueuesBatchesWhenAllConnectionsAreBusy() throws Exception {
+        applicationProperties.getMail().setConnections(2);
+        applicationProperties.getMail().setBatchSize(1);
+        applicationProperties.getMail().setBatchTimeout(Duration.ofMillis(10));
+        JavaMailSender slowMailSender = mock(JavaMailSender.class);
+        doAnswer(invocation -> {
+                Thread.sleep(100);
+                return null;
+            })
+            .when(slowMailSender)
+            .send(any(MimeMessage.class));
+        mailDispatcher = new MailDispatcher(slowMailSender, applicationProperties, meterRegistry);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(mailDispatcher.dispatch(createMessage(i))).isTrue();
+        }
+
+        mailDispatcher.destroy();
+        assertThat(meterRegistry.get(MailDispatcher.MESSAGES_METER_NAME).tag("result", "sent").counter().count()).isEqualTo(10);
+        assertThat(meterRegistry.get(MailDispatcher.MESSAGES_METER_NAME).tag("result", "failed").counter().count()).isZero();
+        assertThat(meterRegistry.get(MailDispatcher.QUEUE_METER_NAME).gauge().value()).isZero();
+    }
+
+    @Test
+    void testSignalsTheOutcomeOfDeliveredMails() throws Exception {
+        applicationProperties.getMail().setMaxRetries(0);
+        mailDispatcher = new MailDispatcher(javaMailSender, applicationProperties, meterRegistry);
+
+        assertThatThrownBy(() -> mailDispatcher.deliver(createMessage(0)).block(Duration.ofMillis(TIMEOUT)))
+            .hasCauseInstanceOf(MailSendException.class);
+
+        startGreenMail();
+        mailDispatcher.deliver(createMessage(1)).block(Duration.ofMillis(TIMEOUT));
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(greenMail.getReceivedMessages()[0].getSubject()).isEqualTo("subject 1");
+    }
+
+    @Test
+    void testDoesNotSendCancelledMails() throws Exception {
+        applicationProperties.getMail().setBatchTimeout(Duration.ofSeconds(10));
+        mailDispatcher = new MailDispatcher(javaMailSender, applicationProperties, meterRegistry);
+        startGreenMail();
+
+        // the caller stops waiting while the mail is queued
+        mailDispatcher.deliver(createMessage(0)).subscribe().dispose();
+        mailDispatcher.deliver(createMessage(1)).subscribe();
+
+        mailDispatcher.destroy();
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(greenMail.getReceivedMessages()[0].getSubject()).isEqualTo("subject 1");
+        assertThat(meterRegistry.get(MailDispatcher.MESSAGES_METER_NAME).tag("result", "cancelled").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(MailDispatcher.MESSAGES_METER_NAME).tag("result", "sent").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRejectsMailsWhenQueueIsFull() throws Exception {
+        applicationProperties.getMail().setQueueCapacity(1);
+        applicationProperties.getMail().setMaxRetries(0);
+        applicationProperties.getMail().setBatchTimeout(Duration.ofSeconds(10));
+        mailDispatcher = new MailDispatcher(javaMailSender, applicationProperties, meterRegistry);
+
+        int queued = 0;
+        for (int i = 0; i < 100; i++) {
+            if (mailDispatcher.dispatch(createMessage(i))) {
+                queued++;
+            }
+        }
+
+        // the single queued mail waits for its batch timeout
+        assertThat(queued).isEqualTo(1);
+        assertThat(meterRegistry.get(MailDispatcher.MESSAGES_METER_NAME).tag("result", "rejected").counter().count()).isEqualTo(99);
+    }
+
+    private void startGreenMail() {
+        greenMail.start();
+        javaMailSender.setPort(greenMail.getSmtp().getPort());
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private MimeMessage createMessage(int index) throws Exception {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage);
+        message.setTo("john.doe" + index + "@example.com");
+        message.setFrom("blog@localhost");
+        message.setSubject("subject " + index);
+        message.setText("content " + index);
+        return mimeMessage;
+    }
+}
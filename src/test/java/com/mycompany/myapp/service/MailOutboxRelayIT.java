@@ -0,0 +1,133 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.MailOutbox;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.MailOutboxRepository;
+import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.service.dto.AdminUserDTO;
+import java.util.List;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Integration tests for {@link MailOutboxRelay}.
+ */
+@IntegrationTest
+class MailOutboxRelayIT {
+
+    private static final long SEND_TIMEOUT = 5000;
+
+    @MockBean
+    private JavaMailSender javaMailSender;
+
+    @Captor
+    private ArgumentCaptor<MimeMessage> messageCaptor;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MailOutboxRelay mailOutboxRelay;
+
+    @Autowired
+    private DatabaseClient db;
+
+    @BeforeEach
+    public void setup() {
+        doNothing().when(javaMailSender).send(any(MimeMessage.class));
+        when(javaMailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        mailOutboxRepository.deleteAll().block();
+        userRepository.deleteAllUserAuthorities().block();
+        userRepository.deleteAll().block();
+    }
+
+    @Test
+    void assertThatActivationEmailIsWrittenWithTheUserAndRelayed() throws Exception {
+        AdminUserDTO userDTO = new AdminUserDTO();
+        userDTO.setLogin("outbox-user");
+        userDTO.setEmail("outbox-user@example.com");
+        userDTO.setLangKey("pt-br");
+        User user = userService.registerUser(userDTO, "password").block();
+
+        List<MailOutbox> mails = mailOutboxRepository.findAll().collectList().block();
+        assertThat(mails).hasSize(1);
+        assertThat(mails.get(0).getUserId()).isEqualTo(user.getId());
+        assertThat(mails.get(0).getTemplateName()).isEqualTo(MailService.ACTIVATION_TEMPLATE);
+        verify(javaMailSender, never()).send(any(MimeMessage.class));
+
+        assertThat(mailOutboxRelay.relayReactively().block()).isEqualTo(1L);
+
+        verify(javaMailSender, timeout(SEND_TIMEOUT)).send(messageCaptor.capture());
+        assertThat(messageCaptor.getValue().getAllRecipients()[0]).hasToString("outbox-user@example.com");
+        assertThat(messageCaptor.getValue().getContent().toString()).contains(user.getActivationKey());
+        assertThat(mailOutboxRepository.count().block()).isZero();
+    }
+
+    @Test
+    void assertThatMailIsLeftInTheOutboxUntilItIsSent() {
+        doThrow(MailSendException.class).when(javaMailSender).send(any(MimeMessage.class));
+        AdminUserDTO userDTO = new AdminUserDTO();
+        userDTO.setLogin("outbox-user");
+        userDTO.setEmail("outbox-user@example.com");
+        userDTO.setLangKey("pt-br");
+        userService.registerUser(userDTO, "password").block();
+
+        assertThat(mailOutboxRelay.relayReactively().block()).isZero();
+
+        verify(javaMailSender, atLeastOnce()).send(any(MimeMessage.class));
+        List<MailOutbox> mails = mailOutboxRepository.findAll().collectList().block();
+        assertThat(mails).hasSize(1);
+        assertThat(mails.get(0).getAttempts()).isEqualTo(1);
+
+        // the next attempt is postponed by the backoff
+        assertThat(mailOutboxRelay.relayReactively().block()).isZero();
+        assertThat(mailOutboxRepository.findAll().collectList().block()).extracting(MailOutbox::getAttempts).containsExactly(1);
+
+        doNothing().when(javaMailSender).send(any(MimeMessage.class));
+        db.sql("UPDATE mail_outbox SET next_attempt_at = LOCALTIMESTAMP - INTERVAL '1' SECOND").then().block();
+
+        assertThat(mailOutboxRelay.relayReactively().block()).isEqualTo(1L);
+        assertThat(mailOutboxRepository.count().block()).isZero();
+    }
+
+    @Test
+    void assertThatMailsOfDeletedUserAreDeleted() {
+        AdminUserDTO userDTO = new AdminUserDTO();
+        userDTO.setLogin("outbox-user");
+        userDTO.setEmail("outbox-user@example.com");
+        userDTO.setLangKey("pt-br");
+        userService.registerUser(userDTO, "password").block();
+        assertThat(mailOutboxRepository.count().block()).isEqualTo(1);
+
+        userService.deleteUser("outbox-user").block();
+
+        assertThat(mailOutboxRepository.count().block()).isZero();
+        assertThat(mailOutboxRelay.relayReactively().block()).isZero();
+        verify(javaMailSender, never()).send(any(MimeMessage.class));
+    }
+}
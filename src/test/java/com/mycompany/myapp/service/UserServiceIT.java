@@ -6,6 +6,8 @@ import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.DomainUserDetailsService;
 import com.mycompany.myapp.service.dto.AdminUserDTO;
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -13,11 +15,14 @@ import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.r2dbc.core.DatabaseClient;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -44,6 +49,12 @@ class UserServiceIT {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private DatabaseClient db;
+
+    @Autowired
+    private DomainUserDetailsService userDetailsService;
+
     private User user;
 
     @BeforeEach
@@ -62,6 +73,18 @@ class UserServiceIT {
         user.setCreatedBy(Constants.SYSTEM);
     }
 
+    @Test
+    void assertThatCachedUserIsEvictedOnceSaved() {
+        userRepository.save(user).block();
+        assertThat(userDetailsService.findByUsername(DEFAULT_LOGIN).block().getPassword()).isEqualTo(user.getPassword());
+
+        String newPassword = RandomStringUtils.randomAlphanumeric(60);
+        user.setPassword(newPassword);
+        userService.saveUser(user).block();
+
+        assertThat(userDetailsService.findByUsername(DEFAULT_LOGIN).block().getPassword()).isEqualTo(newPassword);
+    }
+
     @Test
     void assertThatUserMustExistToResetPassword() {
         userRepository.save(user).block();
@@ -131,6 +154,38 @@ class UserServiceIT {
         userRepository.delete(user).block();
     }
 
+    @Test
+    void assertThatOnlyChangedAuthoritiesAreUpdated() {
+        AdminUserDTO userDTO = new AdminUserDTO(user);
+        userDTO.setAuthorities(Set.of(AuthoritiesConstants.USER));
+        User createdUser = userService.createUser(userDTO).block();
+        assertThat(authoritiesOf(createdUser.getLogin())).containsExactly(AuthoritiesConstants.USER);
+
+        userDTO.setId(createdUser.getId());
+        userDTO.setAuthorities(Set.of(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN));
+        userService.updateUser(userDTO).block();
+        assertThat(authoritiesOf(createdUser.getLogin())).containsExactlyInAnyOrder(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN);
+
+        userDTO.setAuthorities(Set.of(AuthoritiesConstants.ADMIN));
+        userService.updateUser(userDTO).block();
+        assertThat(authoritiesOf(createdUser.getLogin())).containsExactly(AuthoritiesConstants.ADMIN);
+
+        userDTO.setAuthorities(Set.of());
+        userService.updateUser(userDTO).block();
+        assertThat(authoritiesOf(createdUser.getLogin())).isEmpty();
+    }
+
+    private List<String> authoritiesOf(String login) {
+        return userService
+            .getUserWithAuthoritiesByLogin(login)
+            .map(AdminUserDTO::new)
+            .block()
+            .getAuthorities()
+            .stream()
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
     @Test
     void assertThatNotActivatedUsersWithNotNullActivationKeyCreatedBefore3DaysAreDeleted() {
         Instant now = Instant.now();
@@ -145,11 +200,40 @@ class UserServiceIT {
             .collectList()
             .block();
         assertThat(users).isNotEmpty();
-        userService.removeNotActivatedUsers();
+        assertThat(userService.removeNotActivatedUsersReactively().block()).isEqualTo(1L);
         users = userRepository.findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(threeDaysAgo).collectList().block();
         assertThat(users).isEmpty();
     }
 
+    @Test
+    void assertThatNotActivatedUsersAreNotDeletedWhileAnotherNodeHoldsTheLock() {
+        Instant now = Instant.now();
+        user.setActivated(false);
+        user.setActivationKey(RandomStringUtils.random(20));
+        User dbUser = userRepository.save(user).block();
+        dbUser.setCreatedDate(now.minus(4, ChronoUnit.DAYS));
+        userRepository.save(user).block();
+        db
+            .sql("DELETE FROM job_lock WHERE name = :name")
+            .bind("name", UserService.NOT_ACTIVATED_USERS_LOCK)
+            .then()
+            .then(
+                db
+                    .sql("INSERT INTO job_lock (name, locked_until, locked_by) VALUES (:name, :lockedUntil, 'another-node')")
+                    .bind("name", UserService.NOT_ACTIVATED_USERS_LOCK)
+                    .bind("lockedUntil", LocalDateTime.ofInstant(now.plus(1, ChronoUnit.HOURS), ZoneOffset.UTC))
+                    .then()
+            )
+            .block();
+
+        assertThat(userService.removeNotActivatedUsersReactively().blockOptional()).isEmpty();
+        assertThat(userRepository.findById(dbUser.getId()).blockOptional()).isPresent();
+
+        db.sql("DELETE FROM job_lock WHERE name = :name").bind("name", UserService.NOT_ACTIVATED_USERS_LOCK).then().block();
+        assertThat(userService.removeNotActivatedUsersReactively().block()).isEqualTo(1L);
+        assertThat(userRepository.findById(dbUser.getId()).blockOptional()).isEmpty();
+    }
+
     @Test
     void assertThatNotActivatedUsersWithNullActivationKeyCreatedBefore3DaysAreNotDeleted() {
         Instant now = Instant.now();
@@ -163,7 +247,7 @@ class UserServiceIT {
             .collectList()
             .block();
         assertThat(users).isEmpty();
-        userService.removeNotActivatedUsers();
+        userService.removeNotActivatedUsersReactively().block();
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId()).blockOptional();
         assertThat(maybeDbUser).contains(dbUser);
     }
@@ -22,6 +22,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -264,6 +265,96 @@ class AreaResourceIT {
             .value(hasItem(DEFAULT_DATA_INATIVIDADE.toString()));
     }
 
+    @Test
+    void getAllAreasByStatusIsEqualToSomething() {
+        // Initialize the database
+        areaRepository.save(area).block();
+
+        defaultAreaShouldBeFound("status.equals=" + DEFAULT_STATUS);
+        defaultAreaShouldNotBeFound("status.equals=" + UPDATED_STATUS);
+    }
+
+    @Test
+    void getAllAreasByNomeStartsWithSomething() {
+        // Initialize the database
+        areaRepository.save(area).block();
+
+        defaultAreaShouldBeFound("nome.startsWith=" + DEFAULT_NOME.substring(0, 3).toLowerCase());
+        defaultAreaShouldNotBeFound("nome.startsWith=" + UPDATED_NOME.substring(0, 3));
+    }
+
+    @Test
+    void getAllAreasByDataInatividadeIsSpecified() {
+        // Initialize the database
+        areaRepository.save(area).block();
+
+        defaultAreaShouldBeFound("dataInatividade.specified=true");
+        defaultAreaShouldNotBeFound("dataInatividade.specified=false");
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultAreaShouldBeFound(String filter) {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_JSON)
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(area.getId().intValue()))
+            .jsonPath("$.[*].nome")
+            .value(hasItem(DEFAULT_NOME));
+
+        // Check, that the count call also returns 1
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/count?" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_JSON)
+            .expectBody()
+            .json("1");
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultAreaShouldNotBeFound(String filter) {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_JSON)
+            .expectBody()
+            .json("[]");
+
+        // Check, that the count call also returns 0
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/count?" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_JSON)
+            .expectBody()
+            .json("0");
+    }
+
     @Test
     void getArea() {
         // Initialize the database
@@ -294,6 +385,61 @@ class AreaResourceIT {
             .value(is(DEFAULT_DATA_INATIVIDADE.toString()));
     }
 
+    @Test
+    void getAreaNotModified() throws Exception {
+        // Initialize the database
+        areaRepository.save(area).block();
+
+        String etag = webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, area.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .exists(HttpHeaders.LAST_MODIFIED)
+            .returnResult(AreaDTO.class)
+            .getResponseHeaders()
+            .getETag();
+        assertThat(etag).isNotNull();
+
+        // The unchanged area is not sent again
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, area.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .ifNoneMatch(etag)
+            .exchange()
+            .expectStatus()
+            .isNotModified()
+            .expectBody()
+            .isEmpty();
+
+        // Update the area, which evicts it from the area cache
+        AreaDTO areaDTO = areaMapper.toDto(area.nome(UPDATED_NOME));
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, areaDTO.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(areaDTO))
+            .exchange()
+            .expectStatus()
+            .isOk();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, area.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .ifNoneMatch(etag)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.nome")
+            .value(is(UPDATED_NOME));
+    }
+
     @Test
     void getNonExistingArea() {
         // Get the area
@@ -343,10 +489,106 @@ class AreaResourceIT {
         assertThat(testArea.getDataInatividade()).isEqualTo(UPDATED_DATA_INATIVIDADE);
     }
 
+    @Test
+    void getAreaAfterUpdate() throws Exception {
+        // Initialize the database
+        areaRepository.save(area).block();
+
+        // Get the area, caching it
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, area.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.nome")
+            .value(is(DEFAULT_NOME));
+
+        // Update the area, evicting it
+        AreaDTO areaDTO = areaMapper.toDto(area);
+        areaDTO.setNome(UPDATED_NOME);
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, areaDTO.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(areaDTO))
+            .exchange()
+            .expectStatus()
+            .isOk();
+
+        // Get the updated area
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, area.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.nome")
+            .value(is(UPDATED_NOME));
+    }
+
+    @Test
+    void putStaleArea() throws Exception {
+        // Initialize the database
+        areaRepository.save(area).block();
+
+        // Read the area, then update it concurrently
+        AreaDTO areaDTO = areaMapper.toDto(areaRepository.findById(area.getId()).block());
+        areaRepository.save(areaRepository.findById(area.getId()).block().descricao(UPDATED_DESCRICAO)).block();
+
+        areaDTO.setNome(UPDATED_NOME);
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, areaDTO.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(areaDTO))
+            .exchange()
+            .expectStatus()
+            .isEqualTo(409);
+
+        // The concurrent update is not lost
+        Area testArea = areaRepository.findById(area.getId()).block();
+        assertThat(testArea.getNome()).isEqualTo(DEFAULT_NOME);
+        assertThat(testArea.getDescricao()).isEqualTo(UPDATED_DESCRICAO);
+        assertThat(testArea.getVersao()).isEqualTo(1L);
+    }
+
+    @Test
+    void putAreaWithoutVersao() throws Exception {
+        // Initialize the database
+        areaRepository.save(area).block();
+
+        AreaDTO areaDTO = areaMapper.toDto(areaRepository.findById(area.getId()).block());
+        areaDTO.setNome(UPDATED_NOME);
+        areaDTO.setVersao(null);
+
+        // The version read by the client is required to update the area
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, areaDTO.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(areaDTO))
+            .exchange()
+            .expectStatus()
+            .isBadRequest()
+            .expectBody()
+            .jsonPath("$.message")
+            .isEqualTo("error.versaonull");
+
+        Area testArea = areaRepository.findById(area.getId()).block();
+        assertThat(testArea.getNome()).isEqualTo(DEFAULT_NOME);
+        assertThat(testArea.getVersao()).isZero();
+    }
+
     @Test
     void putNonExistingArea() throws Exception {
         int databaseSizeBeforeUpdate = areaRepository.findAll().collectList().block().size();
         area.setId(count.incrementAndGet());
+        area.setVersao(0L);
 
         // Create the Area
         AreaDTO areaDTO = areaMapper.toDto(area);
@@ -5,15 +5,20 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Area;
 import com.mycompany.myapp.domain.Curso;
 import com.mycompany.myapp.domain.enumeration.StatusCurso;
+import com.mycompany.myapp.repository.AreaRepository;
 import com.mycompany.myapp.repository.CursoRepository;
 import com.mycompany.myapp.repository.EntityManager;
+import com.mycompany.myapp.service.dto.AreaDTO;
 import com.mycompany.myapp.service.dto.CursoDTO;
 import com.mycompany.myapp.service.mapper.CursoMapper;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -22,8 +27,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
 /**
@@ -61,6 +68,9 @@ class CursoResourceIT {
     @Autowired
     private CursoMapper cursoMapper;
 
+    @Autowired
+    private AreaRepository areaRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -145,6 +155,133 @@ class CursoResourceIT {
         assertThat(testCurso.getDataInatividade()).isEqualTo(DEFAULT_DATA_INATIVIDADE);
     }
 
+    @Test
+    void saveCursosInBulk() throws Exception {
+        // Initialize the database
+        cursoRepository.save(curso).block();
+        int databaseSizeBeforeCreate = cursoRepository.findAll().collectList().block().size();
+
+        CursoDTO updatedCurso = cursoMapper.toDto(curso);
+        updatedCurso.setNome(UPDATED_NOME);
+        updatedCurso.setStatus(StatusCurso.INATIVO);
+        updatedCurso.setDataInatividade(null);
+        CursoDTO newCurso = cursoMapper.toDto(createEntity(em));
+        newCurso.setNome("CCCCCCCCCC");
+        CursoDTO duplicateCurso = cursoMapper.toDto(createEntity(em));
+        duplicateCurso.setNome("cccccccccc");
+        CursoDTO invalidCurso = cursoMapper.toDto(createEntity(em));
+        invalidCurso.setNome(null);
+        CursoDTO nonExistingCurso = cursoMapper.toDto(createEntity(em));
+        nonExistingCurso.setId(count.incrementAndGet());
+        nonExistingCurso.setVersao(0L);
+        nonExistingCurso.setNome("DDDDDDDDDD");
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(List.of(updatedCurso, newCurso, duplicateCurso, invalidCurso, nonExistingCurso)))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(5)
+            .jsonPath("$[0].status")
+            .isEqualTo("UPDATED")
+            .jsonPath("$[1].status")
+            .isEqualTo("CREATED")
+            .jsonPath("$[1].id")
+            .isNotEmpty()
+            .jsonPath("$[2].status")
+            .isEqualTo("DUPLICATE")
+            .jsonPath("$[3].status")
+            .isEqualTo("INVALID")
+            .jsonPath("$[4].status")
+            .isEqualTo("NOT_FOUND");
+
+        // Validate the Cursos in the database
+        List<Curso> cursoList = cursoRepository.findAll().collectList().block();
+        assertThat(cursoList).hasSize(databaseSizeBeforeCreate + 1);
+        Curso testCurso = cursoRepository.findById(curso.getId()).block();
+        assertThat(testCurso.getNome()).isEqualTo(UPDATED_NOME);
+        assertThat(testCurso.getStatus()).isEqualTo(StatusCurso.INATIVO);
+        assertThat(testCurso.getDataInatividade()).isNotNull();
+    }
+
+    @Test
+    void saveCursosInBulkWithStaleVersao() throws Exception {
+        // Initialize the database
+        curso = cursoRepository.save(curso).block();
+        CursoDTO staleCurso = cursoMapper.toDto(curso);
+        staleCurso.setNome(UPDATED_NOME);
+        // The curso is modified concurrently, after its version was read
+        curso = cursoRepository.save(curso.descricao(UPDATED_DESCRICAO)).block();
+        CursoDTO cursoWithoutVersao = cursoMapper.toDto(curso);
+        cursoWithoutVersao.setVersao(null);
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(List.of(staleCurso, cursoWithoutVersao)))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(2)
+            .jsonPath("$[0].status")
+            .isEqualTo("CONFLICT")
+            .jsonPath("$[0].id")
+            .isEqualTo(curso.getId().intValue())
+            .jsonPath("$[1].status")
+            .isEqualTo("INVALID");
+
+        // Validate the Curso in the database
+        Curso testCurso = cursoRepository.findById(curso.getId()).block();
+        assertThat(testCurso.getNome()).isEqualTo(DEFAULT_NOME);
+        assertThat(testCurso.getDescricao()).isEqualTo(UPDATED_DESCRICAO);
+    }
+
+    @Test
+    void saveCursosInBulkWithConstraintViolation() throws Exception {
+        int databaseSizeBeforeCreate = cursoRepository.findAll().collectList().block().size();
+
+        CursoDTO newCurso = cursoMapper.toDto(createEntity(em));
+        AreaDTO nonExistingArea = new AreaDTO();
+        nonExistingArea.setId(count.incrementAndGet());
+        CursoDTO cursoOfNonExistingArea = cursoMapper.toDto(createEntity(em));
+        cursoOfNonExistingArea.setNome("CCCCCCCCCC");
+        cursoOfNonExistingArea.setArea(nonExistingArea);
+
+        // The foreign key violation fails the chunk, whose cursos are then written one by one
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(List.of(newCurso, cursoOfNonExistingArea)))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(2)
+            .jsonPath("$[0].status")
+            .isEqualTo("CREATED")
+            .jsonPath("$[0].id")
+            .isNotEmpty()
+            .jsonPath("$[1].status")
+            .isEqualTo("INVALID")
+            .jsonPath("$[1].id")
+            .doesNotExist();
+
+        // Validate the Cursos in the database
+        List<Curso> cursoList = cursoRepository.findAll().collectList().block();
+        assertThat(cursoList).hasSize(databaseSizeBeforeCreate + 1);
+        assertThat(cursoList.get(cursoList.size() - 1).getNome()).isEqualTo(DEFAULT_NOME);
+    }
+
     @Test
     void createCursoWithExistingId() throws Exception {
         // Create the Curso with an existing ID
@@ -264,6 +401,482 @@ class CursoResourceIT {
             .value(hasItem(DEFAULT_DATA_INATIVIDADE.toString()));
     }
 
+    @Test
+    void getAllCursosWithArea() {
+        // Initialize the database
+        Area area = areaRepository.save(AreaResourceIT.createEntity(em).nome("Area " + count.incrementAndGet())).block();
+        curso.setArea(area);
+        cursoRepository.save(curso).block();
+
+        // The area is read from the area cache, not joined
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$[0].id")
+            .isEqualTo(curso.getId().intValue())
+            .jsonPath("$[0].area.id")
+            .isEqualTo(area.getId().intValue())
+            .jsonPath("$[0].area.nome")
+            .isEqualTo(area.getNome());
+
+        cursoRepository.deleteById(curso.getId()).block();
+        areaRepository.deleteById(area.getId()).block();
+    }
+
+    @Test
+    void getAllCursoSummaries() {
+        // Initialize the database
+        Area area = areaRepository.save(AreaResourceIT.createEntity(em).nome("Area " + count.incrementAndGet())).block();
+        curso.setArea(area);
+        cursoRepository.save(curso).block();
+
+        // Only the list columns are read, and the area name is flattened
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/summary?sort=id,desc&id.equals=" + curso.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "1")
+            .expectBody()
+            .jsonPath("$[0].id")
+            .isEqualTo(curso.getId().intValue())
+            .jsonPath("$[0].nome")
+            .isEqualTo(DEFAULT_NOME)
+            .jsonPath("$[0].status")
+            .isEqualTo(DEFAULT_STATUS.toString())
+            .jsonPath("$[0].areaId")
+            .isEqualTo(area.getId().intValue())
+            .jsonPath("$[0].areaNome")
+            .isEqualTo(area.getNome())
+            .jsonPath("$[0].descricao")
+            .doesNotExist()
+            .jsonPath("$[0].dataCriacao")
+            .doesNotExist();
+
+        // Without the count
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/summary?sort=id,desc&count=false&id.equals=" + curso.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist("X-Total-Count")
+            .expectBody()
+            .jsonPath("$[0].areaNome")
+            .isEqualTo(area.getNome());
+
+        cursoRepository.deleteById(curso.getId()).block();
+        areaRepository.deleteById(area.getId()).block();
+    }
+
+    @Test
+    void getAllCursosAsStream() {
+        // Initialize the database
+        cursoRepository.save(curso).block();
+
+        List<Curso> cursoList = webTestClient
+            .get()
+            .uri(ENTITY_API_URL)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .returnResult(CursoDTO.class)
+            .getResponseBody()
+            .map(cursoMapper::toEntity)
+            .filter(curso::equals)
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        assertThat(cursoList).isNotNull();
+        assertThat(cursoList).hasSize(1);
+        Curso testCurso = cursoList.get(0);
+        assertThat(testCurso.getNome()).isEqualTo(DEFAULT_NOME);
+        assertThat(testCurso.getDescricao()).isEqualTo(DEFAULT_DESCRICAO);
+        assertThat(testCurso.getStatus()).isEqualTo(DEFAULT_STATUS);
+        assertThat(testCurso.getDataCriacao()).isEqualTo(DEFAULT_DATA_CRIACAO);
+        assertThat(testCurso.getDataInatividade()).isEqualTo(DEFAULT_DATA_INATIVIDADE);
+    }
+
+    @Test
+    void getAllCursosWithTotalCount() {
+        // Initialize the database with three cursos, for a second page of size 2 holding the last one
+        cursoRepository.save(curso).block();
+        cursoRepository.save(createEntity(em).nome(DEFAULT_NOME + " 2")).block();
+        Curso lastCurso = cursoRepository.save(createEntity(em).nome(DEFAULT_NOME + " 3")).block();
+
+        // Get the second page, the total count is read from the window column of its rows
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=1&size=2&sort=id,asc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "3")
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(1)
+            .jsonPath("$[0].id")
+            .isEqualTo(lastCurso.getId().intValue());
+
+        // Get a page past the last one, which has no rows: the total count falls back to a count query
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=2&size=2&sort=id,asc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "3")
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(0);
+    }
+
+    @Test
+    void getAllCursosWithoutTotalCount() {
+        // Initialize the database
+        cursoRepository.save(curso).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&count=false")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist("X-Total-Count")
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(curso.getId().intValue()));
+    }
+
+    @Test
+    void getAllCursosByCursor() {
+        // Initialize the database
+        for (String nome : List.of("CCCCCCCCCC", "AAAAAAAAAA", "BBBBBBBBBB")) {
+            cursoRepository.save(createEntity(em).nome(nome)).block();
+        }
+
+        // Get the first page of cursos sorted by nome
+        EntityExchangeResult<List<CursoDTO>> firstPage = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?cursor=&size=2&sort=nome,asc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBodyList(CursoDTO.class)
+            .returnResult();
+
+        assertThat(firstPage.getResponseBody()).extracting(CursoDTO::getNome).containsExactly("AAAAAAAAAA", "BBBBBBBBBB");
+        String link = firstPage.getResponseHeaders().getFirst(HttpHeaders.LINK);
+        assertThat(link).contains("rel=\"next\"");
+
+        // Follow the link to the next page
+        webTestClient
+            .get()
+            .uri(link.substring(link.indexOf('<') + 1, link.indexOf('>')))
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist(HttpHeaders.LINK)
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(1)
+            .jsonPath("$[0].nome")
+            .isEqualTo("CCCCCCCCCC");
+    }
+
+    @Test
+    void getAllCursosByCursorWithCriteria() {
+        // Initialize the database
+        for (String nome : List.of("ADADADADAD", "BBBBBBBBBB", "AAAAAAAAAA", "ACACACACAC")) {
+            cursoRepository.save(createEntity(em).nome(nome)).block();
+        }
+
+        // Get the first page of the cursos whose nome starts with "a", sorted by nome
+        EntityExchangeResult<List<CursoDTO>> firstPage = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?nome.startsWith=a&cursor=&size=2&sort=nome,asc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBodyList(CursoDTO.class)
+            .returnResult();
+
+        assertThat(firstPage.getResponseBody()).extracting(CursoDTO::getNome).containsExactly("AAAAAAAAAA", "ACACACACAC");
+        String link = firstPage.getResponseHeaders().getFirst(HttpHeaders.LINK);
+        assertThat(link).contains("nome.startsWith=a");
+
+        // The next page keeps the filter, skipping "BBBBBBBBBB"
+        webTestClient
+            .get()
+            .uri(link.substring(link.indexOf('<') + 1, link.indexOf('>')))
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist(HttpHeaders.LINK)
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(1)
+            .jsonPath("$[0].nome")
+            .isEqualTo("ADADADADAD");
+    }
+
+    @Test
+    void getAllCursosAsStreamWithCriteria() {
+        // Initialize the database
+        cursoRepository.save(curso).block();
+        cursoRepository.save(createEntity(em).nome(UPDATED_NOME)).block();
+
+        List<String> nomes = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?nome.equals=" + UPDATED_NOME)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(CursoDTO.class)
+            .getResponseBody()
+            .map(CursoDTO::getNome)
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        assertThat(nomes).containsExactly(UPDATED_NOME);
+    }
+
+    @Test
+    void getAllCursosWithInvalidCursor() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?cursor=not-a-cursor")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+
+        // Well-formed cursors, whose last value is not of the type of the sort property
+        for (String token : List.of("dataCriacao,ASC,1,garbage", "id,ASC,1,abc", "status,ASC,1,UNKNOWN")) {
+            String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+            webTestClient
+                .get()
+                .uri(ENTITY_API_URL + "?cursor=" + cursor)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectBody()
+                .jsonPath("$.message")
+                .isEqualTo("error.cursorinvalid");
+        }
+    }
+
+    @Test
+    void searchCursos() {
+        // Initialize the database
+        cursoRepository.save(curso.descricao("Introdução à programação")).block();
+        Curso other = cursoRepository.save(createEntity(em).nome(UPDATED_NOME).descricao(DEFAULT_NOME)).block();
+
+        // The curso matching by name ranks before the one matching by description
+        webTestClient
+            .get()
+            .uri("/api/_search/cursos?q=" + DEFAULT_NOME.toLowerCase())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(2)
+            .jsonPath("$[0].id")
+            .isEqualTo(curso.getId().intValue())
+            .jsonPath("$[1].id")
+            .isEqualTo(other.getId().intValue());
+
+        // Get the first page of one curso, the next page follows the relevance of the last curso
+        EntityExchangeResult<List<CursoDTO>> firstPage = webTestClient
+            .get()
+            .uri("/api/_search/cursos?q=" + DEFAULT_NOME + "&size=1")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBodyList(CursoDTO.class)
+            .returnResult();
+
+        assertThat(firstPage.getResponseBody()).extracting(CursoDTO::getId).containsExactly(curso.getId());
+        String link = firstPage.getResponseHeaders().getFirst(HttpHeaders.LINK);
+        assertThat(link).contains("rel=\"next\"");
+
+        webTestClient
+            .get()
+            .uri(link.substring(link.indexOf('<') + 1, link.indexOf('>')))
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(1)
+            .jsonPath("$[0].id")
+            .isEqualTo(other.getId().intValue());
+
+        webTestClient
+            .get()
+            .uri("/api/_search/cursos?q=zzzzzzzzzz")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .json("[]");
+    }
+
+    @Test
+    void getAllCursosByStatusIsEqualToSomething() {
+        // Initialize the database
+        cursoRepository.save(curso).block();
+
+        defaultCursoShouldBeFound("status.equals=" + DEFAULT_STATUS);
+        defaultCursoShouldNotBeFound("status.equals=" + UPDATED_STATUS);
+    }
+
+    @Test
+    void getAllCursosByStatusIsInShouldWork() {
+        // Initialize the database
+        cursoRepository.save(curso).block();
+
+        defaultCursoShouldBeFound("status.in=" + DEFAULT_STATUS + "," + UPDATED_STATUS);
+        defaultCursoShouldNotBeFound("status.in=" + UPDATED_STATUS);
+    }
+
+    @Test
+    void getAllCursosByNomeStartsWithSomething() {
+        // Initialize the database
+        cursoRepository.save(curso).block();
+
+        defaultCursoShouldBeFound("nome.startsWith=" + DEFAULT_NOME.substring(0, 3).toLowerCase());
+        defaultCursoShouldNotBeFound("nome.startsWith=" + UPDATED_NOME.substring(0, 3));
+    }
+
+    @Test
+    void getAllCursosByNomeContainsSomething() {
+        // Initialize the database
+        cursoRepository.save(curso).block();
+
+        defaultCursoShouldBeFound("nome.contains=" + DEFAULT_NOME);
+        defaultCursoShouldNotBeFound("nome.contains=" + UPDATED_NOME);
+    }
+
+    @Test
+    void getAllCursosByDataCriacaoIsInRange() {
+        // Initialize the database
+        cursoRepository.save(curso).block();
+
+        defaultCursoShouldBeFound("dataCriacao.lessThanOrEqual=" + DEFAULT_DATA_CRIACAO);
+        defaultCursoShouldNotBeFound("dataCriacao.greaterThan=" + DEFAULT_DATA_CRIACAO);
+    }
+
+    @Test
+    void getAllCursosByAreaIdIsEqualToSomething() {
+        // Initialize the database
+        Area area = areaRepository.save(AreaResourceIT.createEntity(em).nome("Area " + count.incrementAndGet())).block();
+        curso.setArea(area);
+        cursoRepository.save(curso).block();
+
+        defaultCursoShouldBeFound("areaId.equals=" + area.getId());
+        defaultCursoShouldNotBeFound("areaId.equals=" + (area.getId() + 1));
+        defaultCursoShouldNotBeFound("areaId.specified=false");
+
+        cursoRepository.deleteById(curso.getId()).block();
+        areaRepository.deleteById(area.getId()).block();
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultCursoShouldBeFound(String filter) {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_JSON)
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(hasItem(curso.getId().intValue()))
+            .jsonPath("$.[*].nome")
+            .value(hasItem(DEFAULT_NOME));
+
+        // Check, that the count call also returns 1
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/count?" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_JSON)
+            .expectBody()
+            .json("1");
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultCursoShouldNotBeFound(String filter) {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_JSON)
+            .expectBody()
+            .json("[]");
+
+        // Check, that the count call also returns 0
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/count?" + filter)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(MediaType.APPLICATION_JSON)
+            .expectBody()
+            .json("0");
+    }
+
     @Test
     void getCurso() {
         // Initialize the database
@@ -294,6 +907,97 @@ class CursoResourceIT {
             .value(is(DEFAULT_DATA_INATIVIDADE.toString()));
     }
 
+    @Test
+    void getCursoNotModified() {
+        // Initialize the database
+        cursoRepository.save(curso).block();
+
+        String etag = webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, curso.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .exists(HttpHeaders.LAST_MODIFIED)
+            .returnResult(CursoDTO.class)
+            .getResponseHeaders()
+            .getETag();
+        assertThat(etag).isNotNull();
+
+        // The unchanged curso is not sent again
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, curso.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .ifNoneMatch(etag)
+            .exchange()
+            .expectStatus()
+            .isNotModified()
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, etag)
+            .expectBody()
+            .isEmpty();
+
+        // Update the curso
+        cursoRepository.save(curso.nome(UPDATED_NOME)).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, curso.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .ifNoneMatch(etag)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.nome")
+            .value(is(UPDATED_NOME));
+    }
+
+    @Test
+    void getAllCursosNotModified() {
+        // Initialize the database
+        cursoRepository.save(curso).block();
+
+        String etag = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(CursoDTO.class)
+            .getResponseHeaders()
+            .getETag();
+        assertThat(etag).isNotNull();
+
+        // The unchanged list is not sent again
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc")
+            .accept(MediaType.APPLICATION_JSON)
+            .ifNoneMatch(etag)
+            .exchange()
+            .expectStatus()
+            .isNotModified();
+
+        // Delete the curso, which changes the version of the list
+        cursoRepository.deleteById(curso.getId()).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc")
+            .accept(MediaType.APPLICATION_JSON)
+            .ifNoneMatch(etag)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .value(HttpHeaders.ETAG, value -> assertThat(value).isNotEqualTo(etag));
+    }
+
     @Test
     void getNonExistingCurso() {
         // Get the curso
@@ -343,10 +1047,64 @@ class CursoResourceIT {
         assertThat(testCurso.getDataInatividade()).isEqualTo(UPDATED_DATA_INATIVIDADE);
     }
 
+    @Test
+    void putStaleCurso() throws Exception {
+        // Initialize the database
+        cursoRepository.save(curso).block();
+
+        // Read the curso, then update it concurrently
+        CursoDTO cursoDTO = cursoMapper.toDto(cursoRepository.findById(curso.getId()).block());
+        cursoRepository.save(cursoRepository.findById(curso.getId()).block().descricao(UPDATED_DESCRICAO)).block();
+
+        cursoDTO.setNome(UPDATED_NOME);
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, cursoDTO.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(cursoDTO))
+            .exchange()
+            .expectStatus()
+            .isEqualTo(409);
+
+        // The concurrent update is not lost
+        Curso testCurso = cursoRepository.findById(curso.getId()).block();
+        assertThat(testCurso.getNome()).isEqualTo(DEFAULT_NOME);
+        assertThat(testCurso.getDescricao()).isEqualTo(UPDATED_DESCRICAO);
+        assertThat(testCurso.getVersao()).isEqualTo(1L);
+    }
+
+    @Test
+    void putCursoWithoutVersao() throws Exception {
+        // Initialize the database
+        cursoRepository.save(curso).block();
+
+        CursoDTO cursoDTO = cursoMapper.toDto(cursoRepository.findById(curso.getId()).block());
+        cursoDTO.setNome(UPDATED_NOME);
+        cursoDTO.setVersao(null);
+
+        // The version read by the client is required to update the curso
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, cursoDTO.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(cursoDTO))
+            .exchange()
+            .expectStatus()
+            .isBadRequest()
+            .expectBody()
+            .jsonPath("$.message")
+            .isEqualTo("error.versaonull");
+
+        Curso testCurso = cursoRepository.findById(curso.getId()).block();
+        assertThat(testCurso.getNome()).isEqualTo(DEFAULT_NOME);
+        assertThat(testCurso.getVersao()).isZero();
+    }
+
     @Test
     void putNonExistingCurso() throws Exception {
         int databaseSizeBeforeUpdate = cursoRepository.findAll().collectList().block().size();
         curso.setId(count.incrementAndGet());
+        curso.setVersao(0L);
 
         // Create the Curso
         CursoDTO cursoDTO = cursoMapper.toDto(curso);
@@ -6,7 +6,6 @@ import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.Authority;
 import com.mycompany.myapp.domain.User;
-import com.mycompany.myapp.repository.AuthorityRepository;
 import com.mycompany.myapp.repository.EntityManager;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.security.AuthoritiesConstants;
@@ -59,9 +58,6 @@ class UserResourceIT {
     @Autowired
     private UserRepository userRepository;
 
-    @Autowired
-    private AuthorityRepository authorityRepository;
-
     @Autowired
     private UserMapper userMapper;
 
@@ -256,10 +252,7 @@ class UserResourceIT {
     void getAllUsers() {
         // Initialize the database
         userRepository.save(user).block();
-        authorityRepository
-            .findById(AuthoritiesConstants.USER)
-            .flatMap(authority -> userRepository.saveUserAuthority(user.getId(), authority.getName()))
-            .block();
+        userRepository.saveUserAuthorities(user.getId(), List.of(AuthoritiesConstants.USER)).block();
 
         // Get all the users
         AdminUserDTO foundUser = webTestClient
@@ -284,14 +277,41 @@ class UserResourceIT {
         assertThat(foundUser.getAuthorities()).containsExactly(AuthoritiesConstants.USER);
     }
 
+    @Test
+    void getAllUsersSortedAndPaged() {
+        // Initialize the database
+        for (String suffix : Arrays.asList("c", "a", "b")) {
+            User other = createEntity(em);
+            other.setLogin(DEFAULT_LOGIN + suffix);
+            userRepository.save(other).block();
+            userRepository.saveUserAuthorities(other.getId(), List.of(AuthoritiesConstants.USER)).block();
+        }
+
+        // Get the second page of users sorted by login
+        List<AdminUserDTO> foundUsers = webTestClient
+            .get()
+            .uri("/api/admin/users?sort=login,asc&page=1&size=1")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "3")
+            .returnResult(AdminUserDTO.class)
+            .getResponseBody()
+            .collectList()
+            .block();
+
+        assertThat(foundUsers).hasSize(1);
+        assertThat(foundUsers.get(0).getLogin()).isEqualTo(DEFAULT_LOGIN + "b");
+        assertThat(foundUsers.get(0).getAuthorities()).containsExactly(AuthoritiesConstants.USER);
+    }
+
     @Test
     void getUser() {
         // Initialize the database
         userRepository.save(user).block();
-        authorityRepository
-            .findById(AuthoritiesConstants.USER)
-            .flatMap(authority -> userRepository.saveUserAuthority(user.getId(), authority.getName()))
-            .block();
+        userRepository.saveUserAuthorities(user.getId(), List.of(AuthoritiesConstants.USER)).block();
 
         // Get the user
         webTestClient